@@ -0,0 +1,108 @@
+package com.tennismatch.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Thin asynchronous client for the match-app REST API.
+ */
+final class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final URI baseUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    ApiClient(URI baseUrl) {
+        this.baseUrl = baseUrl;
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    CompletableFuture<HttpResponse<String>> register(Map<String, Object> body) {
+        return send(json(HttpRequest.newBuilder(resolve("/api/auth/register")), body).build());
+    }
+
+    CompletableFuture<HttpResponse<String>> createProposal(String email, String password, Map<String, Object> body) {
+        return send(json(authorized(HttpRequest.newBuilder(resolve("/api/match-proposals")), email, password), body).build());
+    }
+
+    CompletableFuture<HttpResponse<String>> search(String town, String level, String etag) {
+        String query = "?town=" + URLEncoder.encode(town, StandardCharsets.UTF_8)
+                + (level != null ? "&level=" + level : "");
+        HttpRequest.Builder request = HttpRequest.newBuilder(resolve("/api/match-proposals/search" + query))
+                .timeout(REQUEST_TIMEOUT)
+                .GET();
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+        return send(request.build());
+    }
+
+    /** Unconditional search asking for the given encoding, with the body as sent. */
+    CompletableFuture<HttpResponse<byte[]>> searchEncoded(String town, String accept) {
+        HttpRequest request = HttpRequest.newBuilder(resolve("/api/match-proposals/search?town="
+                        + URLEncoder.encode(town, StandardCharsets.UTF_8)))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", accept)
+                .GET()
+                .build();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    CompletableFuture<HttpResponse<String>> accept(String email, String password, long proposalId) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(resolve("/api/match-proposals/" + proposalId + "/accept"))
+                .timeout(REQUEST_TIMEOUT)
+                .PUT(HttpRequest.BodyPublishers.noBody());
+        return send(authorized(request, email, password).build());
+    }
+
+    /** Reads the {@code id} field of a JSON response body, or {@code null} if there is none. */
+    Long readId(String body) {
+        try {
+            JsonNode id = objectMapper.readTree(body).get("id");
+            return id != null && id.canConvertToLong() ? id.asLong() : null;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest request) {
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI resolve(String path) {
+        return baseUrl.resolve(path);
+    }
+
+    private HttpRequest.Builder json(HttpRequest.Builder request, Map<String, Object> body) {
+        try {
+            return request.timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize request body", e);
+        }
+    }
+
+    private static HttpRequest.Builder authorized(HttpRequest.Builder request, String email, String password) {
+        String credentials = Base64.getEncoder()
+                .encodeToString((email + ":" + password).getBytes(StandardCharsets.UTF_8));
+        return request.header("Authorization", "Basic " + credentials);
+    }
+}
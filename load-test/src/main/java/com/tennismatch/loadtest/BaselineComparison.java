@@ -0,0 +1,44 @@
+package com.tennismatch.loadtest;
+
+import java.io.PrintStream;
+import java.util.Map;
+
+/**
+ * Compares a run against a saved baseline. A scenario regresses when its p99 latency grows, or its
+ * throughput drops, by more than the tolerance (a fraction, e.g. {@code 0.10} for 10%).
+ */
+final class BaselineComparison {
+
+    private BaselineComparison() {
+    }
+
+    /** Prints the comparison and returns {@code true} if any scenario regressed. */
+    static boolean compare(LoadTestReport baseline, LoadTestReport current, double tolerance, PrintStream out) {
+        out.printf("%nComparison against baseline '%s' (%s), tolerance %.0f%%%n",
+                baseline.name(), baseline.createdAt(), tolerance * 100);
+        out.printf("%-10s %12s %12s %8s %12s %12s %8s%n",
+                "scenario", "base p99", "p99", "delta", "base req/s", "req/s", "delta");
+        boolean regressed = false;
+        for (Map.Entry<String, LoadTestReport.ScenarioSummary> entry : current.scenarios().entrySet()) {
+            LoadTestReport.ScenarioSummary before = baseline.scenarios().get(entry.getKey());
+            if (before == null) {
+                out.printf("%-10s (not in baseline)%n", entry.getKey());
+                continue;
+            }
+            LoadTestReport.ScenarioSummary after = entry.getValue();
+            double latencyDelta = relativeChange(before.p99Ms(), after.p99Ms());
+            double throughputDelta = relativeChange(before.throughput(), after.throughput());
+            boolean worse = latencyDelta > tolerance || throughputDelta < -tolerance;
+            regressed |= worse;
+            out.printf("%-10s %12.2f %12.2f %+7.1f%% %12.1f %12.1f %+7.1f%%%s%n",
+                    entry.getKey(), before.p99Ms(), after.p99Ms(), latencyDelta * 100,
+                    before.throughput(), after.throughput(), throughputDelta * 100,
+                    worse ? "  REGRESSION" : "");
+        }
+        return regressed;
+    }
+
+    private static double relativeChange(double before, double after) {
+        return before == 0 ? 0 : (after - before) / before;
+    }
+}
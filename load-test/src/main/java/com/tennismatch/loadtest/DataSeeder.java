@@ -0,0 +1,98 @@
+package com.tennismatch.loadtest;
+
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Seeds a running instance through its public API: registers users, lets them propose matches
+ * and has compatible players from the same town accept a share of the proposals.
+ */
+final class DataSeeder {
+
+    private static final int MAX_CONCURRENCY = 32;
+
+    private final ApiClient client;
+    private final SyntheticDataGenerator generator;
+    private final Semaphore permits = new Semaphore(MAX_CONCURRENCY);
+
+    DataSeeder(ApiClient client, SyntheticDataGenerator generator) {
+        this.client = client;
+        this.generator = generator;
+    }
+
+    SeedManifest seed(int userCount, int proposalsPerUser, double acceptShare) {
+        List<SyntheticDataGenerator.SyntheticUser> users = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) {
+            SyntheticDataGenerator.SyntheticUser user = generator.nextUser();
+            pending.add(throttled(() -> client.register(generator.registration(user)))
+                    .thenAccept(response -> {
+                        if (response.statusCode() == 201) {
+                            users.add(user);
+                        }
+                    }));
+        }
+        awaitAll(pending);
+        System.out.printf("Registered %d/%d users%n", users.size(), userCount);
+
+        List<SeedManifest.SeededProposal> proposals = Collections.synchronizedList(new ArrayList<>());
+        for (SyntheticDataGenerator.SyntheticUser user : users) {
+            for (int i = 0; i < proposalsPerUser; i++) {
+                Map<String, Object> body = generator.proposal();
+                pending.add(throttled(() -> client.createProposal(user.email(), user.password(), body))
+                        .thenAccept(response -> {
+                            Long id = response.statusCode() == 201 ? client.readId(response.body()) : null;
+                            if (id != null) {
+                                proposals.add(new SeedManifest.SeededProposal(id, user.email(), user.town(), user.level()));
+                            }
+                        }));
+            }
+        }
+        awaitAll(pending);
+        System.out.printf("Created %d proposals%n", proposals.size());
+
+        List<SeedManifest.SeededProposal> open = Collections.synchronizedList(new ArrayList<>());
+        for (SeedManifest.SeededProposal proposal : proposals) {
+            SyntheticDataGenerator.SyntheticUser requester = generator.nextDouble() < acceptShare
+                    ? findRequester(users, proposal) : null;
+            if (requester == null) {
+                open.add(proposal);
+                continue;
+            }
+            pending.add(throttled(() -> client.accept(requester.email(), requester.password(), proposal.id())));
+        }
+        awaitAll(pending);
+        System.out.printf("Accepted %d proposals, %d left open%n", proposals.size() - open.size(), open.size());
+        return new SeedManifest(List.copyOf(users), List.copyOf(open));
+    }
+
+    private SyntheticDataGenerator.SyntheticUser findRequester(List<SyntheticDataGenerator.SyntheticUser> users,
+                                                               SeedManifest.SeededProposal proposal) {
+        // A handful of random draws is enough; towns with a single player simply keep their proposals open
+        for (int attempt = 0; attempt < 20; attempt++) {
+            SyntheticDataGenerator.SyntheticUser candidate = generator.pick(users);
+            if (candidate.town().equals(proposal.town())
+                    && !candidate.email().equals(proposal.proposerEmail())
+                    && SyntheticDataGenerator.compatible(candidate.level(), proposal.level())) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private CompletableFuture<HttpResponse<String>> throttled(Supplier<CompletableFuture<HttpResponse<String>>> call) {
+        permits.acquireUninterruptibly();
+        return call.get().whenComplete((response, error) -> permits.release());
+    }
+
+    private static void awaitAll(List<CompletableFuture<?>> pending) {
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).exceptionally(error -> null).join();
+        pending.clear();
+    }
+}
@@ -0,0 +1,150 @@
+package com.tennismatch.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares the encodings of the proposal search response: bytes on the wire (as sent, and gzip-compressed
+ * as a compressing proxy would send them) and request latency against the running instance.
+ * <p>
+ * It also times encoding the same payloads in process. This module does not see the server's DTOs, so those
+ * payloads are the JSON responses decoded into generic lists and maps, with dates already rendered as
+ * strings: the number compares the encoders on the same values, but is not the server's serialization cost
+ * for its typed responses and is labelled as a generic-map measurement.
+ */
+final class EncodingBenchmark {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final int ENCODE_ROUNDS = 200;
+
+    private final ApiClient client;
+
+    EncodingBenchmark(ApiClient client) {
+        this.client = client;
+    }
+
+    List<Result> run(List<String> towns, int iterations) {
+        // JSON payloads are decoded once into generic maps and re-encoded by every mapper for the in-process timing
+        List<Object> payloads = new ArrayList<>();
+        ObjectMapper json = Encoding.JSON.mapper;
+        for (String town : towns) {
+            payloads.add(read(json, fetch(town, Encoding.JSON).body()));
+        }
+
+        List<Result> results = new ArrayList<>();
+        for (Encoding encoding : Encoding.values()) {
+            // One untimed pass, so the first encoding does not pay for connection setup and server warm-up
+            towns.forEach(town -> fetch(town, encoding));
+            Histogram latency = new Histogram(3);
+            long bytes = 0;
+            long gzipBytes = 0;
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                HttpResponse<byte[]> response = fetch(towns.get(i % towns.size()), encoding);
+                latency.recordValue(System.nanoTime() - start);
+                bytes += response.body().length;
+                gzipBytes += gzip(response.body()).length;
+            }
+            results.add(new Result(encoding.name().toLowerCase(),
+                    (double) bytes / iterations,
+                    (double) gzipBytes / iterations,
+                    latency.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                    latency.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                    mapEncodeMicros(encoding.mapper, payloads)));
+        }
+        return results;
+    }
+
+    static void print(List<Result> results, PrintStream out) {
+        out.printf("%n%-8s %12s %12s %9s %9s %12s%n", "encoding", "bytes", "gzip bytes", "p50 ms", "p99 ms", "map enc us");
+        for (Result result : results) {
+            out.printf("%-8s %12.0f %12.0f %9.2f %9.2f %12.1f%n", result.encoding(), result.bytes(), result.gzipBytes(),
+                    result.p50Ms(), result.p99Ms(), result.mapEncodeMicros());
+        }
+    }
+
+    private HttpResponse<byte[]> fetch(String town, Encoding encoding) {
+        HttpResponse<byte[]> response = client.searchEncoded(town, encoding.accept).join();
+        String contentType = response.headers().firstValue("Content-Type").orElse("");
+        if (response.statusCode() != 200 || !contentType.startsWith(encoding.accept)) {
+            throw new IllegalStateException("Search for " + town + " as " + encoding.accept + " returned "
+                    + response.statusCode() + " " + contentType);
+        }
+        return response;
+    }
+
+    /** Average time to encode one generic-map payload, after the same number of untimed rounds to let the JIT settle. */
+    private static double mapEncodeMicros(ObjectMapper mapper, List<Object> payloads) {
+        long start = 0;
+        for (int round = 0; round < 2 * ENCODE_ROUNDS; round++) {
+            if (round == ENCODE_ROUNDS) {
+                start = System.nanoTime();
+            }
+            for (Object payload : payloads) {
+                write(mapper, payload);
+            }
+        }
+        return (System.nanoTime() - start) / 1000.0 / ENCODE_ROUNDS / payloads.size();
+    }
+
+    private static Object read(ObjectMapper mapper, byte[] body) {
+        try {
+            return mapper.readValue(body, new TypeReference<List<Object>>() {
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] write(ObjectMapper mapper, Object payload) {
+        try {
+            return mapper.writeValueAsBytes(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 2 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    /** Mappers with the server's Smile setting; the rest of its configuration only affects typed values. */
+    private enum Encoding {
+        JSON("application/json", new ObjectMapper()),
+        SMILE("application/x-jackson-smile", new SmileMapper(SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build())),
+        CBOR("application/cbor", new CBORMapper());
+
+        private final String accept;
+        private final ObjectMapper mapper;
+
+        Encoding(String accept, ObjectMapper mapper) {
+            this.accept = accept;
+            this.mapper = mapper;
+        }
+    }
+
+    record Result(String encoding, double bytes, double gzipBytes, double p50Ms, double p99Ms, double mapEncodeMicros) {
+    }
+}
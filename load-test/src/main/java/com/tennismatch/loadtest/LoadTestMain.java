@@ -0,0 +1,122 @@
+package com.tennismatch.loadtest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Entry point for the load-test tasks.
+ * <ul>
+ *   <li>{@code seed} registers synthetic users, proposals and matches and writes a manifest.</li>
+ *   <li>{@code run} drives the scenario mix at a constant arrival rate, writes a report and histograms
+ *       under {@code results/} and optionally compares it against an earlier baseline. With
+ *       {@code --save-baseline true} it is then saved as {@code baselines/<name>.json}, unless it
+ *       regressed.</li>
+ *   <li>{@code compare} compares two saved reports.</li>
+ *   <li>{@code encoding} compares response size, latency and encoding time of JSON, Smile and CBOR on
+ *       the seeded towns' proposal searches.</li>
+ * </ul>
+ * Exits with status 1 when a comparison finds a regression, so CI jobs can gate on it.
+ */
+public final class LoadTestMain {
+
+    private static final String MANIFEST = "results/seed-manifest.json";
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        long seed = Long.parseLong(options.string("seed", "42"));
+        switch (options.command()) {
+            case "seed" -> seed(options, seed);
+            case "run" -> run(options, seed);
+            case "compare" -> {
+                boolean regressed = BaselineComparison.compare(
+                        LoadTestReport.read(baseline(options.string("baseline", "main"))),
+                        LoadTestReport.read(baseline(options.string("current", "latest"))),
+                        options.decimal("tolerance", 0.10), System.out);
+                System.exit(regressed ? 1 : 0);
+            }
+            case "encoding" -> encoding(options);
+            default -> throw new IllegalArgumentException("Unknown command: " + options.command());
+        }
+    }
+
+    private static void seed(LoadTestOptions options, long seed) throws Exception {
+        LocalDateTime epoch = options.epoch();
+        System.out.println("Generating data for seed " + seed + " and epoch " + epoch);
+        DataSeeder seeder = new DataSeeder(new ApiClient(options.baseUrl()), new SyntheticDataGenerator(seed, epoch));
+        SeedManifest manifest = seeder.seed(
+                options.integer("users", 500),
+                options.integer("proposals", 3),
+                options.decimal("accept-share", 0.3));
+        Path path = options.path("manifest", MANIFEST);
+        manifest.write(path);
+        System.out.println("Seed manifest written to " + path.toAbsolutePath());
+    }
+
+    private static void run(LoadTestOptions options, long seed) throws Exception {
+        SeedManifest manifest = SeedManifest.read(options.path("manifest", MANIFEST));
+        // Registrations during the run must not collide with seeded accounts
+        LocalDateTime epoch = options.epoch();
+        System.out.println("Generating data for seed " + seed + " and epoch " + epoch);
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(seed + 1, epoch);
+        OpenModelDriver driver = new OpenModelDriver(new ApiClient(options.baseUrl()), generator, manifest,
+                seed, options.integer("max-in-flight", 2_000));
+
+        double rate = options.decimal("rate", 50);
+        Scenario.Mix mix = Scenario.Mix.parse(options.string("mix", Scenario.Mix.DEFAULT));
+        System.out.printf("Driving %.1f req/s for %ds (after %ds warm-up), mix %s%n", rate,
+                options.seconds("duration", 60).toSeconds(), options.seconds("warmup", 10).toSeconds(), mix.weights());
+        OpenModelDriver.Run result = driver.run(rate, options.seconds("warmup", 10), options.seconds("duration", 60), mix);
+
+        String name = options.string("name", "latest");
+        Path runDir = Path.of("results", name + "-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        LoadTestReport report = LoadTestReport.from(name, rate, result, runDir);
+        report.print(System.out);
+        report.write(runDir.resolve("report.json"));
+        System.out.println("Report written to " + runDir.toAbsolutePath());
+
+        // Compared before anything is saved, so a run never becomes its own baseline
+        boolean regressed = false;
+        if (options.has("compare-to")) {
+            Path previous = baseline(options.string("compare-to", "main"));
+            if (Files.exists(previous)) {
+                regressed = BaselineComparison.compare(LoadTestReport.read(previous), report,
+                        options.decimal("tolerance", 0.10), System.out);
+            } else {
+                System.out.println("No baseline at " + previous + ", skipping comparison");
+            }
+        }
+        if (regressed) {
+            System.exit(1);
+        }
+        if (Boolean.parseBoolean(options.string("save-baseline", "false"))) {
+            report.write(baseline(name));
+            System.out.println("Baseline saved as " + baseline(name).toAbsolutePath());
+        }
+    }
+
+    private static void encoding(LoadTestOptions options) throws Exception {
+        SeedManifest manifest = SeedManifest.read(options.path("manifest", MANIFEST));
+        List<String> towns = manifest.openProposals().stream()
+                .map(SeedManifest.SeededProposal::town)
+                .distinct()
+                .sorted()
+                .toList();
+        if (towns.isEmpty()) {
+            throw new IllegalStateException("The seed manifest lists no open proposals; run the seed task first");
+        }
+        EncodingBenchmark benchmark = new EncodingBenchmark(new ApiClient(options.baseUrl()));
+        EncodingBenchmark.print(benchmark.run(towns, options.integer("iterations", 500)), System.out);
+    }
+
+    /** Accepts either a path to a report or the name of a saved baseline. */
+    private static Path baseline(String nameOrPath) {
+        Path path = Path.of(nameOrPath);
+        return nameOrPath.endsWith(".json") ? path : Path.of("baselines", nameOrPath + ".json");
+    }
+}
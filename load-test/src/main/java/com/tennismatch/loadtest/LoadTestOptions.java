@@ -0,0 +1,68 @@
+package com.tennismatch.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options of the form {@code <command> --key value ...}.
+ */
+record LoadTestOptions(String command, Map<String, String> values) {
+
+    static LoadTestOptions parse(String[] args) {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Usage: <seed|run|compare|encoding> [--key value ...]");
+        }
+        Map<String, String> values = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected '--key value' but got: " + args[i]);
+            }
+            values.put(args[i].substring(2), args[++i]);
+        }
+        return new LoadTestOptions(args[0], values);
+    }
+
+    URI baseUrl() {
+        return URI.create(string("base-url", "http://localhost:8080"));
+    }
+
+    String string(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    boolean has(String key) {
+        return values.containsKey(key);
+    }
+
+    int integer(String key, int defaultValue) {
+        return values.containsKey(key) ? Integer.parseInt(values.get(key)) : defaultValue;
+    }
+
+    double decimal(String key, double defaultValue) {
+        return values.containsKey(key) ? Double.parseDouble(values.get(key)) : defaultValue;
+    }
+
+    /** Durations are given in seconds. */
+    Duration seconds(String key, long defaultSeconds) {
+        return Duration.ofSeconds(values.containsKey(key) ? Long.parseLong(values.get(key)) : defaultSeconds);
+    }
+
+    /**
+     * Time the generated data is laid out from, as in {@code 2026-10-19T08:00}; the current minute when
+     * not given. Together with the seed it fixes every generated value.
+     */
+    LocalDateTime epoch() {
+        return values.containsKey("epoch")
+                ? LocalDateTime.parse(values.get("epoch"))
+                : LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+    }
+
+    Path path(String key, String defaultValue) {
+        return Path.of(string(key, defaultValue));
+    }
+}
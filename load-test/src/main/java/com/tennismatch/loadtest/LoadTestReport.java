@@ -0,0 +1,81 @@
+package com.tennismatch.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Summary of one run: per-scenario throughput and latency percentiles. This is also the baseline
+ * format, so a saved report can be compared against later runs.
+ */
+record LoadTestReport(String name, String createdAt, double targetRate, long durationSeconds, long dropped,
+                      Map<String, ScenarioSummary> scenarios) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    static LoadTestReport from(String name, double targetRate, OpenModelDriver.Run run, Path histogramDir) throws IOException {
+        Files.createDirectories(histogramDir);
+        Map<String, ScenarioSummary> scenarios = new LinkedHashMap<>();
+        double seconds = run.duration().toMillis() / 1000.0;
+        for (Map.Entry<Scenario, ScenarioResult> entry : run.results().entrySet()) {
+            Histogram histogram = entry.getValue().histogram();
+            Map<String, Long> statuses = new TreeMap<>();
+            for (Map.Entry<Integer, LongAdder> status : entry.getValue().statusCounts().entrySet()) {
+                statuses.put(String.valueOf(status.getKey()), status.getValue().sum());
+            }
+            scenarios.put(entry.getKey().key(), new ScenarioSummary(
+                    histogram.getTotalCount(),
+                    entry.getValue().failures(),
+                    statuses,
+                    histogram.getTotalCount() / seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue())));
+            // Full distribution in HdrHistogram's text format, plottable with the HdrHistogram plotter
+            try (PrintStream out = new PrintStream(histogramDir.resolve(entry.getKey().key() + ".hgrm").toFile())) {
+                histogram.outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+        return new LoadTestReport(name, Instant.now().toString(), targetRate, run.duration().toSeconds(), run.dropped(), scenarios);
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n%-10s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "scenario", "count", "fail", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        scenarios.forEach((scenario, s) -> out.printf("%-10s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f   %s%n",
+                scenario, s.count(), s.failures(), s.throughput(), s.p50Ms(), s.p90Ms(), s.p99Ms(), s.p999Ms(), s.maxMs(), s.statusCounts()));
+        if (dropped > 0) {
+            out.printf("WARNING: %d scheduled requests were dropped because the in-flight cap was reached%n", dropped);
+        }
+    }
+
+    void write(Path path) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        MAPPER.writeValue(path.toFile(), this);
+    }
+
+    static LoadTestReport read(Path path) throws IOException {
+        return MAPPER.readValue(path.toFile(), LoadTestReport.class);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+
+    record ScenarioSummary(long count, long failures, Map<String, Long> statusCounts, double throughput,
+                           double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs) {
+    }
+}
@@ -0,0 +1,156 @@
+package com.tennismatch.loadtest;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests are started on a fixed schedule at the configured arrival rate,
+ * independent of how fast earlier requests complete. A slow server therefore builds up in-flight requests
+ * instead of silently lowering the offered load, which is what production clients do too.
+ */
+final class OpenModelDriver {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ApiClient client;
+    private final SyntheticDataGenerator generator;
+    private final List<SyntheticDataGenerator.SyntheticUser> users;
+    private final Queue<SeedManifest.SeededProposal> openProposals;
+    private final Map<String, String> searchTags = new ConcurrentHashMap<>();
+    private final Random random;
+    private final int maxInFlight;
+
+    OpenModelDriver(ApiClient client, SyntheticDataGenerator generator, SeedManifest manifest, long seed, int maxInFlight) {
+        if (manifest.users().isEmpty()) {
+            throw new IllegalArgumentException("The seed manifest has no users; run the seed task first");
+        }
+        this.client = client;
+        this.generator = generator;
+        this.users = manifest.users();
+        this.openProposals = new ConcurrentLinkedQueue<>(manifest.openProposals());
+        this.random = new Random(seed);
+        this.maxInFlight = maxInFlight;
+    }
+
+    Run run(double ratePerSecond, Duration warmup, Duration duration, Scenario.Mix mix) {
+        Map<Scenario, ScenarioResult> results = new EnumMap<>(Scenario.class);
+        for (Scenario scenario : mix.weights().keySet()) {
+            results.put(scenario, new ScenarioResult());
+        }
+        if (results.containsKey(Scenario.ACCEPT)) {
+            // Accepts fall back to searches once no open proposal is left
+            results.putIfAbsent(Scenario.SEARCH, new ScenarioResult());
+        }
+        AtomicInteger inFlight = new AtomicInteger();
+        LongAdder dropped = new LongAdder();
+
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = intended >= measureFrom;
+            if (inFlight.get() >= maxInFlight) {
+                // Protects the driver itself; a non-zero count means the run overloaded the target
+                if (measured) {
+                    dropped.increment();
+                }
+                continue;
+            }
+            Scenario scenario = mix.pick(random);
+            SeedManifest.SeededProposal proposal = null;
+            if (scenario == Scenario.ACCEPT) {
+                proposal = openProposals.poll();
+                if (proposal == null) {
+                    // Nothing left to accept; keep the arrival rate by searching instead, recorded as a search
+                    scenario = Scenario.SEARCH;
+                }
+            }
+            ScenarioResult result = results.get(scenario);
+            inFlight.incrementAndGet();
+            execute(scenario, proposal).whenComplete((response, error) -> {
+                inFlight.decrementAndGet();
+                if (!measured) {
+                    return;
+                }
+                long latency = System.nanoTime() - intended;
+                if (error != null) {
+                    result.recordFailure(latency);
+                } else {
+                    result.record(latency, response.statusCode());
+                }
+            });
+        }
+
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+        }
+        return new Run(results, duration, dropped.sum());
+    }
+
+    private CompletableFuture<HttpResponse<String>> execute(Scenario scenario, SeedManifest.SeededProposal proposal) {
+        return switch (scenario) {
+            case REGISTER -> client.register(generator.registration(generator.nextUser()));
+            case SEARCH -> search();
+            case PROPOSE -> propose();
+            case ACCEPT -> accept(proposal);
+        };
+    }
+
+    private CompletableFuture<HttpResponse<String>> search() {
+        String town = generator.nextTown();
+        String level = generator.nextDouble() < 0.7 ? generator.nextLevel() : null;
+        String key = town + "|" + level;
+        // Most mobile refreshes revalidate a list they already have
+        String etag = generator.nextDouble() < 0.8 ? searchTags.get(key) : null;
+        return client.search(town, level, etag).whenComplete((response, error) -> {
+            if (response != null && response.statusCode() == 200) {
+                response.headers().firstValue("ETag").ifPresent(tag -> searchTags.put(key, tag));
+            }
+        });
+    }
+
+    private CompletableFuture<HttpResponse<String>> propose() {
+        SyntheticDataGenerator.SyntheticUser user = generator.pick(users);
+        return client.createProposal(user.email(), user.password(), generator.proposal())
+                .whenComplete((response, error) -> {
+                    Long id = response != null && response.statusCode() == 201 ? client.readId(response.body()) : null;
+                    if (id != null) {
+                        openProposals.add(new SeedManifest.SeededProposal(id, user.email(), user.town(), user.level()));
+                    }
+                });
+    }
+
+    private CompletableFuture<HttpResponse<String>> accept(SeedManifest.SeededProposal proposal) {
+        SyntheticDataGenerator.SyntheticUser requester = generator.pick(users);
+        for (int attempt = 0; attempt < 10 && requester.email().equals(proposal.proposerEmail()); attempt++) {
+            requester = generator.pick(users);
+        }
+        return client.accept(requester.email(), requester.password(), proposal.id());
+    }
+
+    record Run(Map<Scenario, ScenarioResult> results, Duration duration, long dropped) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.tennismatch.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The user journeys the driver issues, and a weighted mix over them.
+ */
+enum Scenario {
+    REGISTER,
+    SEARCH,
+    PROPOSE,
+    ACCEPT;
+
+    String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    record Mix(Map<Scenario, Double> weights) {
+
+        static final String DEFAULT = "register=5,search=70,propose=15,accept=10";
+
+        /** Parses {@code register=5,search=70,...}; omitted scenarios are not issued. */
+        static Mix parse(String spec) {
+            Map<Scenario, Double> weights = new EnumMap<>(Scenario.class);
+            for (String part : spec.split(",")) {
+                String[] pair = part.trim().split("=");
+                weights.put(Scenario.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), Double.parseDouble(pair[1].trim()));
+            }
+            return new Mix(weights);
+        }
+
+        Scenario pick(Random random) {
+            double total = weights.values().stream().mapToDouble(Double::doubleValue).sum();
+            double point = random.nextDouble() * total;
+            for (Map.Entry<Scenario, Double> entry : weights.entrySet()) {
+                point -= entry.getValue();
+                if (point < 0) {
+                    return entry.getKey();
+                }
+            }
+            return weights.keySet().iterator().next();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.tennismatch.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and status code tally for one scenario. Latencies are recorded in nanoseconds,
+ * measured from the intended send time so that server stalls are not hidden by the driver backing off.
+ */
+final class ScenarioResult {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final Recorder recorder = new Recorder(MAX_TRACKABLE_NANOS, 3);
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final LongAdder failures = new LongAdder();
+
+    void record(long latencyNanos, int statusCode) {
+        recorder.recordValue(Math.min(latencyNanos, MAX_TRACKABLE_NANOS));
+        statusCounts.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+    }
+
+    /** Transport-level failure (timeout, connection refused); still counted against latency. */
+    void recordFailure(long latencyNanos) {
+        recorder.recordValue(Math.min(latencyNanos, MAX_TRACKABLE_NANOS));
+        failures.increment();
+    }
+
+    Histogram histogram() {
+        return recorder.getIntervalHistogram();
+    }
+
+    Map<Integer, LongAdder> statusCounts() {
+        return statusCounts;
+    }
+
+    long failures() {
+        return failures.sum();
+    }
+}
@@ -0,0 +1,29 @@
+package com.tennismatch.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * What the seeder created, so that load runs can act as existing users and accept existing proposals.
+ */
+record SeedManifest(List<SyntheticDataGenerator.SyntheticUser> users, List<SeededProposal> openProposals) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    void write(Path path) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        MAPPER.writeValue(path.toFile(), this);
+    }
+
+    static SeedManifest read(Path path) throws IOException {
+        return MAPPER.readValue(path.toFile(), SeedManifest.class);
+    }
+
+    record SeededProposal(long id, String proposerEmail, String town, String level) {
+    }
+}
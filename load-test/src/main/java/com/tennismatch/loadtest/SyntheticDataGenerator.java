@@ -0,0 +1,162 @@
+package com.tennismatch.loadtest;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Produces reproducible, production-shaped request payloads.
+ * <p>
+ * Towns follow a Zipf distribution (one dominant city, a long tail of suburbs), NTRP levels a bell
+ * centred on 3.0-3.5, and proposal start times favour weekday evenings and weekend mornings.
+ * All randomness comes from the seed and all times from the epoch, so two runs with the same seed and
+ * epoch generate the same data set.
+ * Methods are synchronized because the driver draws from several HTTP client threads.
+ */
+final class SyntheticDataGenerator {
+
+    static final String PASSWORD = "LoadTest#2024";
+
+    private static final List<String> TOWNS = List.of(
+            "Krakow", "Wieliczka", "Skawina", "Niepolomice", "Zabierzow",
+            "Myslenice", "Bochnia", "Wadowice", "Olkusz", "Proszowice");
+
+    private static final String[] LEVELS = {
+            "BEGINNER_2_0", "BEGINNER_2_5", "INTERMEDIATE_3_0", "INTERMEDIATE_3_5",
+            "ADVANCED_4_0", "ADVANCED_4_5", "ADVANCED_5_0_PLUS"};
+    private static final double[] LEVEL_WEIGHTS = {0.08, 0.14, 0.22, 0.24, 0.18, 0.10, 0.04};
+
+    private static final String[] SEXES = {"MALE", "FEMALE", "OTHER", "PREFER_NOT_TO_SAY"};
+    private static final double[] SEX_WEIGHTS = {0.58, 0.38, 0.01, 0.03};
+
+    private static final String[] FIRST_NAMES = {"Anna", "Piotr", "Kasia", "Tomasz", "Ola", "Marek", "Ewa", "Jan"};
+    private static final String[] LAST_NAMES = {"Nowak", "Kowalski", "Wisniewska", "Wojcik", "Kaminska", "Lewandowski"};
+    private static final String[] VENUES = {"Park Jordana", "KS Nadwislan", "Korty Olsza", "Park Lotnikow", "Blonia Tennis Club"};
+    private static final String[] NOTES = {
+            "Looking for a friendly match", "Willing to split court fees", "Singles, best of three",
+            "Happy to rally first", "Indoor court booked"};
+
+    // Hours 7..22, evening peak on weekdays, broad morning peak at weekends
+    private static final double[] WEEKDAY_HOUR_WEIGHTS = {1, 2, 1, 1, 1, 1, 1, 2, 2, 3, 4, 8, 10, 9, 6, 3};
+    private static final double[] WEEKEND_HOUR_WEIGHTS = {3, 6, 9, 9, 8, 6, 5, 5, 4, 4, 4, 4, 3, 2, 1, 1};
+
+    private final Random random;
+    private final String runId;
+    private final LocalDate firstDay;
+    private final double[] townWeights;
+    private final AtomicLong userSequence = new AtomicLong();
+
+    SyntheticDataGenerator(long seed, LocalDateTime epoch) {
+        this.random = new Random(seed);
+        this.runId = Long.toString(seed, 36) + "-" + Long.toString(epoch.toEpochSecond(ZoneOffset.UTC), 36);
+        this.firstDay = epoch.toLocalDate();
+        this.townWeights = new double[TOWNS.size()];
+        for (int i = 0; i < townWeights.length; i++) {
+            townWeights[i] = 1.0 / Math.pow(i + 1, 1.1);
+        }
+    }
+
+    synchronized SyntheticUser nextUser() {
+        long n = userSequence.incrementAndGet();
+        return new SyntheticUser(
+                "lt-" + runId + "-" + n + "@loadtest.example",
+                PASSWORD,
+                pick(FIRST_NAMES),
+                pick(LAST_NAMES),
+                nextTown(),
+                nextLevel(),
+                Math.min(80, 18 + (int) Math.round(Math.abs(random.nextGaussian()) * 18)),
+                SEXES[weightedIndex(SEX_WEIGHTS)]);
+    }
+
+    Map<String, Object> registration(SyntheticUser user) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("email", user.email());
+        body.put("password", user.password());
+        body.put("firstName", user.firstName());
+        body.put("lastName", user.lastName());
+        body.put("ntrpLevel", user.level());
+        body.put("homeTown", user.town());
+        body.put("age", user.age());
+        body.put("sex", user.sex());
+        return body;
+    }
+
+    synchronized Map<String, Object> proposal() {
+        LocalDate day = firstDay.plusDays(1 + random.nextInt(14));
+        boolean weekend = day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY;
+        int hour = 7 + weightedIndex(weekend ? WEEKEND_HOUR_WEIGHTS : WEEKDAY_HOUR_WEIGHTS);
+        LocalDateTime start = LocalDateTime.of(day, LocalTime.of(hour, random.nextInt(2) * 30));
+        int minutes = 60 + 30 * random.nextInt(3);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("proposedStartTime", start.truncatedTo(ChronoUnit.MINUTES).toString());
+        body.put("proposedEndTime", start.plusMinutes(minutes).truncatedTo(ChronoUnit.MINUTES).toString());
+        body.put("locationDetails", pick(VENUES) + ", court " + (1 + random.nextInt(8)));
+        if (random.nextDouble() < 0.6) {
+            body.put("notes", pick(NOTES));
+        }
+        return body;
+    }
+
+    synchronized String nextTown() {
+        return TOWNS.get(weightedIndex(townWeights));
+    }
+
+    synchronized String nextLevel() {
+        return LEVELS[weightedIndex(LEVEL_WEIGHTS)];
+    }
+
+    synchronized double nextDouble() {
+        return random.nextDouble();
+    }
+
+    /** Whether two levels are close enough for the players to accept each other's proposals. */
+    static boolean compatible(String level, String other) {
+        return Math.abs(levelIndex(level) - levelIndex(other)) <= 1;
+    }
+
+    synchronized <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static int levelIndex(String level) {
+        for (int i = 0; i < LEVELS.length; i++) {
+            if (LEVELS[i].equals(level)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown level: " + level);
+    }
+
+    private int weightedIndex(double[] weights) {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        double point = random.nextDouble() * total;
+        for (int i = 0; i < weights.length; i++) {
+            point -= weights[i];
+            if (point < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    record SyntheticUser(String email, String password, String firstName, String lastName,
+                         String town, String level, int age, String sex) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.tennismatch.matchapp.archive;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Tuning of the archiver that moves historical proposals and matches out of the hot tables.
+ *
+ * @param enabled             whether this instance runs the periodic archival
+ * @param horizon             closed proposals starting longer ago than this are archived
+ * @param batchSize           proposals moved per transaction, together with their matches
+ * @param pauseBetweenBatches sleep between two batches, to leave the database to regular traffic
+ * @param maxBatchesPerRun    batches per shard and run; the rest waits for the next run
+ */
+@ConfigurationProperties(prefix = "app.archive")
+public record ArchivalProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("180d") Duration horizon,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("200ms") Duration pauseBetweenBatches,
+        @DefaultValue("100") int maxBatchesPerRun) {
+}
@@ -0,0 +1,164 @@
+package com.tennismatch.matchapp.archive;
+
+import com.tennismatch.matchapp.model.ProposalStatus;
+import com.tennismatch.matchapp.sharding.ShardDirectory;
+import com.tennismatch.matchapp.sharding.ShardSessions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.LockMode;
+import org.hibernate.StatelessSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves closed proposals whose start lies more than {@link ArchivalProperties#horizon()} in the past,
+ * together with their matches, from the hot tables into {@code archived_play_proposals} and
+ * {@code archived_matches}, so the hot tables and their indexes only cover the active window.
+ * <p>
+ * Every shard is archived on its own, in batches of {@link ArchivalProperties#batchSize()} proposals.
+ * A batch copies and deletes its rows in one transaction with bulk statements, and batches are spaced by
+ * {@link ArchivalProperties#pauseBetweenBatches()}, so no long transaction or lock competes with regular
+ * traffic. Closed proposals are never modified again, so no row can change while it is moved. A batch locks
+ * the proposals it selects and skips those locked by others, so several instances can archive at once.
+ * Archived rows stay on the shard they were archived on, also when their town moves later.
+ * <p>
+ * Exports {@code archive.run} (duration) and {@code archive.rows{table}}.
+ */
+@Component
+@EnableConfigurationProperties(ArchivalProperties.class)
+public class MatchArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchArchiver.class);
+    private static final List<ProposalStatus> CLOSED = List.of(ProposalStatus.MATCHED, ProposalStatus.CANCELLED);
+
+    private final ArchivalProperties properties;
+    private final ShardDirectory shardDirectory;
+    private final ShardSessions shardSessions;
+    private final Timer runTimer;
+    private final Counter archivedProposals;
+    private final Counter archivedMatches;
+
+    public MatchArchiver(ArchivalProperties properties,
+                         ShardDirectory shardDirectory,
+                         ShardSessions shardSessions,
+                         MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.shardDirectory = shardDirectory;
+        this.shardSessions = shardSessions;
+        this.runTimer = Timer.builder("archive.run")
+                .description("Duration of an archival run over all shards")
+                .register(meterRegistry);
+        this.archivedProposals = rowCounter(meterRegistry, "proposals");
+        this.archivedMatches = rowCounter(meterRegistry, "matches");
+    }
+
+    @Scheduled(fixedDelayString = "${app.archive.interval:PT1H}", initialDelayString = "${app.archive.initial-delay:PT10M}")
+    public void poll() {
+        if (!properties.enabled()) {
+            return;
+        }
+        runTimer.record(() -> archive(LocalDateTime.now().minus(properties.horizon())));
+    }
+
+    /**
+     * Archives the closed proposals starting before the cutoff, and their matches, on every shard.
+     * @return the number of proposals archived
+     */
+    public int archive(LocalDateTime cutoff) {
+        int total = 0;
+        for (String shard : shardDirectory.getShards()) {
+            total += archiveShard(shard, cutoff);
+        }
+        return total;
+    }
+
+    private int archiveShard(String shard, LocalDateTime cutoff) {
+        int proposals = 0;
+        int matches = 0;
+        for (int batch = 0; batch < properties.maxBatchesPerRun(); batch++) {
+            if (batch > 0 && !pause()) {
+                break;
+            }
+            BatchResult result = shardSessions.inTransaction(shard, session -> archiveBatch(session, cutoff));
+            proposals += result.proposals();
+            matches += result.matches();
+            archivedProposals.increment(result.proposals());
+            archivedMatches.increment(result.matches());
+            if (result.proposals() < properties.batchSize()) {
+                break;
+            }
+        }
+        if (proposals > 0) {
+            log.info("Archived {} proposals and {} matches starting before {} on shard {}",
+                    proposals, matches, cutoff, shard);
+        }
+        return proposals;
+    }
+
+    private BatchResult archiveBatch(StatelessSession session, LocalDateTime cutoff) {
+        // SKIP LOCKED, as for the outbox: concurrent instances claim disjoint batches instead of copying the
+        // same rows and failing on the archive's primary key (plain FOR UPDATE on databases without it)
+        List<Long> ids = session.createSelectionQuery(
+                        "select p.id from PlayProposal p where p.status in :closed and p.proposedStartTime < :cutoff"
+                                + " order by p.id", Long.class)
+                .setParameterList("closed", CLOSED)
+                .setParameter("cutoff", cutoff)
+                .setMaxResults(properties.batchSize())
+                .setHibernateLockMode(LockMode.UPGRADE_SKIPLOCKED)
+                .getResultList();
+        if (ids.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+        LocalDateTime archivedAt = LocalDateTime.now();
+        session.createMutationQuery("insert into ArchivedProposal (id, proposerId, proposedStartTime, proposedEndTime,"
+                        + " locationDetails, notes, status, createdAt, updatedAt, archivedAt)"
+                        + " select p.id, p.proposingUser.id, p.proposedStartTime, p.proposedEndTime, p.locationDetails,"
+                        + " p.notes, p.status, p.createdAt, p.updatedAt, :archivedAt"
+                        + " from PlayProposal p where p.id in :ids")
+                .setParameter("archivedAt", archivedAt)
+                .setParameterList("ids", ids)
+                .executeUpdate();
+        int matches = session.createMutationQuery("insert into ArchivedMatch (id, proposalId, proposerId, requesterId,"
+                        + " status, proposedStartTime, createdAt, updatedAt, archivedAt)"
+                        + " select m.id, p.id, p.proposingUser.id, m.requestingUser.id, m.status, p.proposedStartTime,"
+                        + " m.createdAt, m.updatedAt, :archivedAt"
+                        + " from Match m join m.playProposal p where p.id in :ids")
+                .setParameter("archivedAt", archivedAt)
+                .setParameterList("ids", ids)
+                .executeUpdate();
+        session.createMutationQuery("delete from Match m where m.playProposal.id in :ids")
+                .setParameterList("ids", ids)
+                .executeUpdate();
+        session.createMutationQuery("delete from PlayProposal p where p.id in :ids")
+                .setParameterList("ids", ids)
+                .executeUpdate();
+        return new BatchResult(ids.size(), matches);
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.pauseBetweenBatches());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Counter rowCounter(MeterRegistry meterRegistry, String table) {
+        return Counter.builder("archive.rows")
+                .description("Rows moved from the hot tables into the archive")
+                .tag("table", table)
+                .register(meterRegistry);
+    }
+
+    private record BatchResult(int proposals, int matches) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.tennismatch.matchapp.cache;
+
+import com.tennismatch.matchapp.codec.Representation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Evaluates {@code If-None-Match} against a precomputed ETag and records the outcome as
+ * {@code http.conditional.requests{resource, result}}, where result is {@code hit} (304),
+ * {@code miss} (stale tag) or {@code unconditional} (no tag sent).
+ */
+@Component
+public class ConditionalRequests {
+
+    private final MeterRegistry meterRegistry;
+
+    public ConditionalRequests(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Sets the ETag on the response and returns {@code true} if the client copy is current,
+     * in which case the status is already 304 and the caller should return without a body.
+     */
+    public boolean checkNotModified(WebRequest request, String resource, String etag) {
+        boolean conditional = request.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+        String tag = Representation.negotiate(request.getHeader(HttpHeaders.ACCEPT)).tag(etag);
+        boolean notModified = request.checkNotModified(tag);
+        if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            // Needed on 304 responses as well, which carry no body for RepresentationAdvice to see
+            servletRequest.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        String result = !conditional ? "unconditional" : (notModified ? "hit" : "miss");
+        Counter.builder("http.conditional.requests")
+                .description("Conditional GET evaluations by resource and outcome")
+                .tag("resource", resource)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+        return notModified;
+    }
+}
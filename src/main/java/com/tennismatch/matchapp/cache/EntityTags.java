@@ -0,0 +1,36 @@
+package com.tennismatch.matchapp.cache;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Builds strong ETag values from entity and list versions.
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    /**
+     * Strong ETag for a single entity, derived from its id and {@code updatedAt} timestamp.
+     */
+    public static String forEntity(String type, Long id, LocalDateTime version) {
+        return "\"" + type + "-" + id + "-" + Long.toHexString(stamp(version)) + "\"";
+    }
+
+    /**
+     * Strong ETag for a list, derived from its version in the database and, for lists that also depend on
+     * state held in memory, a counter of that state's changes. The tag is the same on every instance as
+     * long as {@code localChanges} is.
+     */
+    public static String forList(String type, ListVersion version, long localChanges) {
+        return "\"" + type + "-" + Long.toHexString(version.count())
+                + "-" + Long.toHexString(stamp(version.lastProposalUpdate()))
+                + "-" + Long.toHexString(stamp(version.lastProposerUpdate()))
+                + "-" + Long.toHexString(localChanges) + "\"";
+    }
+
+    private static long stamp(LocalDateTime version) {
+        return version == null ? 0L : version.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + version.getNano();
+    }
+}
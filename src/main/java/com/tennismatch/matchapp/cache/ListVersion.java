@@ -0,0 +1,12 @@
+package com.tennismatch.matchapp.cache;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version of a list of proposals as every instance sees it in the database: the number of listed
+ * proposals and the newest update of a listed proposal and of a listed proposer. Any change to the list
+ * moves one of them, since an added or edited row becomes the newest and a removed one lowers the count.
+ * The times are {@code null} for an empty list.
+ */
+public record ListVersion(long count, LocalDateTime lastProposalUpdate, LocalDateTime lastProposerUpdate) {
+}
@@ -0,0 +1,36 @@
+package com.tennismatch.matchapp.cache;
+
+import com.tennismatch.matchapp.model.NtrpLevel;
+import com.tennismatch.matchapp.search.ProposalTextIndex;
+import com.tennismatch.matchapp.service.PlayProposalService;
+import org.springframework.stereotype.Component;
+
+/**
+ * ETags for the open proposal lists of a town, optionally narrowed to one NTRP level.
+ * <p>
+ * The tag is derived from the list's {@link ListVersion} in the database, so every instance tags a list
+ * the same way and a change made through any instance changes the tag everywhere. Text searches are
+ * answered from the in-memory index, which follows changes of other instances only after a sync, so their
+ * tag also covers the index's changes for the town.
+ */
+@Component
+public class ProposalListVersions {
+
+    private final PlayProposalService playProposalService;
+    private final ProposalTextIndex proposalTextIndex;
+
+    public ProposalListVersions(PlayProposalService playProposalService, ProposalTextIndex proposalTextIndex) {
+        this.playProposalService = playProposalService;
+        this.proposalTextIndex = proposalTextIndex;
+    }
+
+    public String etag(String town, NtrpLevel level) {
+        return EntityTags.forList("proposals", playProposalService.findListVersion(town, level), 0L);
+    }
+
+    public String textSearchEtag(String town, NtrpLevel level) {
+        // Read first: a tag can then only be older than the index it describes, never newer
+        long changes = proposalTextIndex.changeCount(town);
+        return EntityTags.forList("proposal-search", playProposalService.findListVersion(town, level), changes);
+    }
+}
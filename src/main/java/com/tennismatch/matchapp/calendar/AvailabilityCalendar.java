@@ -0,0 +1,155 @@
+package com.tennismatch.matchapp.calendar;
+
+import com.tennismatch.matchapp.model.NtrpLevel;
+import com.tennismatch.matchapp.model.Towns;
+import com.tennismatch.matchapp.stats.CountReconciler;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Supplier;
+
+/**
+ * Open proposals per town, day, {@link TimeOfDay} and NTRP level, kept up to date in memory.
+ * <p>
+ * A town has one entry per day that has or had open proposals, holding a fixed array with a counter for
+ * every time of day and level. Memory therefore grows with towns and days, not with proposals, and past
+ * days are dropped by {@link #prune}. Counters are changed with atomic adds, so updates need no lock.
+ * <p>
+ * Towns are keyed by {@link Towns#key}. {@link #reconcile} corrects the counters against freshly counted
+ * rows a town day at a time, see {@link CountReconciler}.
+ */
+@Component
+public class AvailabilityCalendar {
+
+    private static final TimeOfDay[] TIMES = TimeOfDay.values();
+    private static final NtrpLevel[] LEVELS = NtrpLevel.values();
+    private static final int CELLS = TIMES.length * LEVELS.length;
+
+    private final Map<String, NavigableMap<LocalDate, AtomicIntegerArray>> towns = new ConcurrentHashMap<>();
+    private final CountReconciler<TownDay> reconciler = new CountReconciler<>();
+
+    /**
+     * Adds {@code delta} open proposals starting at the given time.
+     */
+    public void add(String town, NtrpLevel level, LocalDateTime start, int delta) {
+        TownDay key = new TownDay(Towns.key(town), start.toLocalDate());
+        day(key.town(), key.day()).addAndGet(cell(TimeOfDay.ofHour(start.getHour()), level), delta);
+        reconciler.changed(key);
+    }
+
+    /**
+     * Announces, inside its transaction, a change that {@link #add} applies after commit, so a reconcile
+     * pass running in between leaves the town day alone.
+     */
+    public void changing(String town, LocalDateTime start) {
+        reconciler.changing(new TownDay(Towns.key(town), start.toLocalDate()));
+    }
+
+    /**
+     * Counts for the days from {@code from} to {@code to}, inclusive, optionally for one level only. Days and
+     * times of day without open proposals are left out.
+     */
+    public Map<LocalDate, Map<TimeOfDay, Map<NtrpLevel, Integer>>> range(String town, LocalDate from, LocalDate to,
+                                                                         NtrpLevel level) {
+        NavigableMap<LocalDate, AtomicIntegerArray> days = towns.get(Towns.key(town));
+        Map<LocalDate, Map<TimeOfDay, Map<NtrpLevel, Integer>>> result = new TreeMap<>();
+        if (days == null) {
+            return result;
+        }
+        for (Map.Entry<LocalDate, AtomicIntegerArray> day : days.subMap(from, true, to, true).entrySet()) {
+            Map<TimeOfDay, Map<NtrpLevel, Integer>> times = new EnumMap<>(TimeOfDay.class);
+            for (TimeOfDay time : TIMES) {
+                for (NtrpLevel candidate : LEVELS) {
+                    int count = day.getValue().get(cell(time, candidate));
+                    if (count > 0 && (level == null || level == candidate)) {
+                        times.computeIfAbsent(time, t -> new EnumMap<>(NtrpLevel.class)).put(candidate, count);
+                    }
+                }
+            }
+            if (!times.isEmpty()) {
+                result.put(day.getKey(), times);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drops all days before the given one.
+     */
+    public void prune(LocalDate before) {
+        towns.values().forEach(days -> days.headMap(before).clear());
+    }
+
+    /**
+     * Corrects every counter from {@code from} on against the counted rows.
+     * @param counted counts the open proposals from {@code from} on in the database
+     * @return the number of town days that had drifted
+     */
+    public int reconcile(Supplier<List<CalendarCount>> counted, LocalDate from) {
+        return reconciler.reconcile(this::snapshot, () -> {
+            Map<TownDay, int[]> actual = new HashMap<>();
+            for (CalendarCount count : counted.get()) {
+                int[] counters = actual.computeIfAbsent(new TownDay(Towns.key(count.town()), count.day()),
+                        d -> new int[CELLS]);
+                counters[cell(TimeOfDay.ofHour(count.hour()), count.level())] += (int) count.count();
+            }
+            return actual;
+        }, (key, seen, expected) -> {
+            if (key.day().isBefore(from)) {
+                return false;
+            }
+            AtomicIntegerArray counters = null;
+            for (int i = 0; i < CELLS; i++) {
+                int difference = (expected != null ? expected[i] : 0) - (seen != null ? seen[i] : 0);
+                if (difference != 0) {
+                    if (counters == null) {
+                        counters = day(key.town(), key.day());
+                    }
+                    counters.addAndGet(i, difference);
+                }
+            }
+            return counters != null;
+        });
+    }
+
+    private Map<TownDay, int[]> snapshot() {
+        Map<TownDay, int[]> snapshot = new HashMap<>();
+        towns.forEach((town, days) -> days.forEach((day, counters) -> {
+            int[] copy = new int[CELLS];
+            for (int i = 0; i < CELLS; i++) {
+                copy[i] = counters.get(i);
+            }
+            snapshot.put(new TownDay(town, day), copy);
+        }));
+        return snapshot;
+    }
+
+    /**
+     * Number of town days held, which is what the memory use grows with.
+     */
+    public int dayCount() {
+        return towns.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private AtomicIntegerArray day(String town, LocalDate day) {
+        return towns.computeIfAbsent(town, t -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(day, d -> new AtomicIntegerArray(CELLS));
+    }
+
+    private static int cell(TimeOfDay time, NtrpLevel level) {
+        return time.ordinal() * LEVELS.length + level.ordinal();
+    }
+
+    public record TownDay(String town, LocalDate day) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.tennismatch.matchapp.calendar;
+
+import com.tennismatch.matchapp.event.ProposalLifecycleEvent;
+import com.tennismatch.matchapp.model.ProposalStatus;
+import com.tennismatch.matchapp.repository.PlayProposalRepository;
+import com.tennismatch.matchapp.sharding.ShardQueries;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps {@link AvailabilityCalendar} in line with the database.
+ * <p>
+ * At startup the calendar is built from one aggregate query per shard, run on all shards in parallel,
+ * grouping open proposals from today on by town, level, day and hour. Afterwards each
+ * {@link ProposalLifecycleEvent} moves a proposal out of its previous slot and into its new one after
+ * commit, the affected town days having been announced to the calendar when the event was published. The
+ * aggregate query is repeated every reconcile interval to pick up changes made by other instances, and
+ * past days are dropped.
+ * <p>
+ * Exports {@code calendar.days}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AvailabilityCalendarSync implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityCalendarSync.class);
+
+    private final AvailabilityCalendar calendar;
+    private final PlayProposalRepository playProposalRepository;
+    private final ShardQueries shardQueries;
+
+    public AvailabilityCalendarSync(AvailabilityCalendar calendar,
+                                    PlayProposalRepository playProposalRepository,
+                                    ShardQueries shardQueries,
+                                    MeterRegistry meterRegistry) {
+        this.calendar = calendar;
+        this.playProposalRepository = playProposalRepository;
+        this.shardQueries = shardQueries;
+        Gauge.builder("calendar.days", calendar, AvailabilityCalendar::dayCount)
+                .description("Town days held by the availability calendar")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.nanoTime();
+        reconcile();
+        log.info("Built availability calendar with {} town days in {} ms",
+                calendar.dayCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @EventListener
+    public void onProposalChanging(ProposalLifecycleEvent event) {
+        if (event.previousStatus() == ProposalStatus.OPEN) {
+            calendar.changing(event.town(), event.previousStartTime());
+        }
+        if (event.status() == ProposalStatus.OPEN) {
+            calendar.changing(event.town(), event.proposedStartTime());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProposalChanged(ProposalLifecycleEvent event) {
+        if (event.previousStatus() == ProposalStatus.OPEN) {
+            calendar.add(event.town(), event.level(), event.previousStartTime(), -1);
+        }
+        if (event.status() == ProposalStatus.OPEN) {
+            calendar.add(event.town(), event.level(), event.proposedStartTime(), 1);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.calendar.reconcile-interval:PT5M}", initialDelayString = "${app.calendar.reconcile-interval:PT5M}")
+    public void reconcile() {
+        LocalDate today = LocalDate.now();
+        calendar.prune(today);
+        int drifted = calendar.reconcile(() -> shardQueries.scatter(
+                () -> playProposalRepository.countCalendar(ProposalStatus.OPEN, today.atStartOfDay())), today);
+        if (drifted > 0) {
+            log.debug("Corrected {} availability calendar days against the database", drifted);
+        }
+    }
+}
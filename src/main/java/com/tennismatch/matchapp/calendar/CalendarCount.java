@@ -0,0 +1,11 @@
+package com.tennismatch.matchapp.calendar;
+
+import com.tennismatch.matchapp.model.NtrpLevel;
+
+import java.time.LocalDate;
+
+/**
+ * Number of open proposals starting in one hour of one day, made by players of one level and home town.
+ */
+public record CalendarCount(String town, NtrpLevel level, LocalDate day, int hour, long count) {
+}
@@ -0,0 +1,20 @@
+package com.tennismatch.matchapp.calendar;
+
+/**
+ * Part of the day a proposal starts in, the granularity of {@link AvailabilityCalendar}.
+ */
+public enum TimeOfDay {
+    MORNING,
+    AFTERNOON,
+    EVENING;
+
+    private static final int AFTERNOON_FROM = 12;
+    private static final int EVENING_FROM = 17;
+
+    public static TimeOfDay ofHour(int hour) {
+        if (hour >= EVENING_FROM) {
+            return EVENING;
+        }
+        return hour >= AFTERNOON_FROM ? AFTERNOON : MORNING;
+    }
+}
@@ -0,0 +1,36 @@
+package com.tennismatch.matchapp.codec;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary encodings of the API, selected with the {@code Accept} header ({@code application/cbor} or
+ * {@code application/x-jackson-smile}); JSON stays the default for any other or missing header.
+ * <p>
+ * Both mappers come from Spring Boot's builder, so they share the JSON mapper's configuration (ISO dates,
+ * modules) and a response carries the same values in every encoding. These beans take the place of the
+ * converters Spring MVC would otherwise register with a plain mapper, after the JSON converter. Smile
+ * additionally back-references repeated string values, so field names and the enum names and towns
+ * repeated across a list are written once.
+ */
+@Configuration
+public class BinaryEncodingConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.cbor().build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(factory).build());
+    }
+}
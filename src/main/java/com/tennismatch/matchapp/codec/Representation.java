@@ -0,0 +1,95 @@
+package com.tennismatch.matchapp.codec;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Encodings an API response can be sent in. Each one is a separate representation for HTTP caching,
+ * so strong ETags carry a per-encoding suffix (none for JSON, keeping existing tags valid).
+ */
+public enum Representation {
+
+    JSON(MediaType.APPLICATION_JSON, null),
+    SMILE(new MediaType("application", "x-jackson-smile"), "smile"),
+    CBOR(MediaType.APPLICATION_CBOR, "cbor");
+
+    private final MediaType mediaType;
+    private final String suffix;
+
+    Representation(MediaType mediaType, String suffix) {
+        this.mediaType = mediaType;
+        this.suffix = suffix;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Encoding the message converters will pick for an {@code Accept} header: highest quality first,
+     * specific types before wildcards, JSON when nothing else matches.
+     */
+    public static Representation negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed()
+                .thenComparing(MediaType::isWildcardType)
+                .thenComparing(MediaType::isWildcardSubtype));
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() <= 0) {
+                continue;
+            }
+            for (Representation representation : values()) {
+                if (type.includes(representation.mediaType)) {
+                    return representation;
+                }
+            }
+        }
+        return JSON;
+    }
+
+    /**
+     * Encoding of a response whose content type was selected by a message converter.
+     */
+    public static Representation of(MediaType contentType) {
+        for (Representation representation : values()) {
+            if (representation.mediaType.isCompatibleWith(contentType)) {
+                return representation;
+            }
+        }
+        return JSON;
+    }
+
+    /**
+     * The ETag of this representation, given the JSON one.
+     */
+    public String tag(String etag) {
+        if (suffix == null || etag.length() < 2 || !etag.endsWith("\"")) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + "-" + suffix + "\"";
+    }
+
+    /**
+     * The JSON ETag, given the tag of any representation.
+     */
+    public static String untag(String etag) {
+        for (Representation representation : values()) {
+            if (representation.suffix != null && etag.endsWith("-" + representation.suffix + "\"")) {
+                return etag.substring(0, etag.length() - representation.suffix.length() - 2) + "\"";
+            }
+        }
+        return etag;
+    }
+}
@@ -0,0 +1,45 @@
+package com.tennismatch.matchapp.codec;
+
+import com.tennismatch.matchapp.controller.PlayProposalController;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Marks API responses as varying by {@code Accept}, so shared caches keep the encodings apart, and makes
+ * sure an ETag set before the body was encoded names the encoding that was actually chosen.
+ */
+@ControllerAdvice(basePackageClasses = PlayProposalController.class)
+public class RepresentationAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        HttpHeaders headers = response.getHeaders();
+        if (!headers.getVary().contains(HttpHeaders.ACCEPT)) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        String etag = headers.getETag();
+        if (etag != null && response instanceof ServletServerHttpResponse servletResponse) {
+            String tag = Representation.of(selectedContentType).tag(Representation.untag(etag));
+            if (!tag.equals(etag)) {
+                // Already on the servlet response, where adding through the headers would duplicate it
+                servletResponse.getServletResponse().setHeader(HttpHeaders.ETAG, tag);
+            }
+        }
+        return body;
+    }
+}
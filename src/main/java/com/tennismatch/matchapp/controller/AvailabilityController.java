@@ -0,0 +1,56 @@
+package com.tennismatch.matchapp.controller;
+
+import com.tennismatch.matchapp.dto.AvailabilityRequest;
+import com.tennismatch.matchapp.dto.AvailabilityResponse;
+import com.tennismatch.matchapp.service.AvailabilityService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+
+@RestController
+@RequestMapping("/api/availability")
+public class AvailabilityController {
+
+    private final AvailabilityService availabilityService;
+
+    public AvailabilityController(AvailabilityService availabilityService) {
+        this.availabilityService = availabilityService;
+    }
+
+    @PostMapping
+    public ResponseEntity<?> addWindow(@Valid @RequestBody AvailabilityRequest request, Principal principal) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(AvailabilityResponse.from(availabilityService.addWindow(principal.getName(), request)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/mine")
+    public ResponseEntity<?> myWindows(Principal principal) {
+        try {
+            return ResponseEntity.ok(availabilityService.findOpenWindows(principal.getName()).stream()
+                    .map(AvailabilityResponse::from)
+                    .toList());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @PutMapping("/{id}/withdraw")
+    public ResponseEntity<?> withdrawWindow(@PathVariable Long id, Principal principal) {
+        try {
+            return ResponseEntity.ok(AvailabilityResponse.from(availabilityService.withdrawWindow(id, principal.getName())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.tennismatch.matchapp.controller;
+
+import com.tennismatch.matchapp.calendar.AvailabilityCalendar;
+import com.tennismatch.matchapp.dto.CalendarResponse;
+import com.tennismatch.matchapp.model.NtrpLevel;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/calendar")
+public class CalendarController {
+
+    private static final int MAX_DAYS = 31;
+
+    private final AvailabilityCalendar availabilityCalendar;
+
+    public CalendarController(AvailabilityCalendar availabilityCalendar) {
+        this.availabilityCalendar = availabilityCalendar;
+    }
+
+    // Served from memory, see AvailabilityCalendar; no query runs
+    @GetMapping
+    public ResponseEntity<?> calendar(@RequestParam String town,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                      @RequestParam(defaultValue = "7") int days,
+                                      @RequestParam(required = false) NtrpLevel level) {
+        if (days < 1 || days > MAX_DAYS) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: Days must be between 1 and " + MAX_DAYS + "!");
+        }
+        LocalDate first = from != null ? from : LocalDate.now();
+        LocalDate last = first.plusDays(days - 1);
+        return ResponseEntity.ok(CalendarResponse.builder()
+                .town(town.trim())
+                .from(first)
+                .to(last)
+                .openProposals(availabilityCalendar.range(town, first, last, level))
+                .build());
+    }
+}
@@ -0,0 +1,55 @@
+package com.tennismatch.matchapp.controller;
+
+import com.tennismatch.matchapp.dto.MatchCursor;
+import com.tennismatch.matchapp.dto.MatchResponse;
+import com.tennismatch.matchapp.dto.MatchTimeframe;
+import com.tennismatch.matchapp.service.PlayProposalService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.security.Principal;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/matches")
+public class MatchController {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final PlayProposalService playProposalService;
+
+    public MatchController(PlayProposalService playProposalService) {
+        this.playProposalService = playProposalService;
+    }
+
+    // Keyset-paginated; when the page is full, a Link header with rel="next" carries the cursor of the next page
+    @GetMapping("/mine")
+    public ResponseEntity<?> myMatches(@RequestParam(defaultValue = "ALL") MatchTimeframe when,
+                                       @RequestParam(required = false) String cursor,
+                                       @RequestParam(defaultValue = "50") int limit,
+                                       Principal principal) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: Limit must be between 1 and " + MAX_PAGE_SIZE + "!");
+        }
+        try {
+            MatchCursor after = cursor != null ? MatchCursor.decode(cursor) : null;
+            List<MatchResponse> page = playProposalService.findMatchesForUser(principal.getName(), when, after, limit);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.size() == limit) {
+                String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                        .replaceQueryParam("cursor", MatchCursor.after(page.get(page.size() - 1)).encode())
+                        .toUriString();
+                response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+            }
+            return response.body(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+}
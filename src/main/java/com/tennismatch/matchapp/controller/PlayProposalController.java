@@ -0,0 +1,119 @@
+package com.tennismatch.matchapp.controller;
+
+import com.tennismatch.matchapp.cache.ConditionalRequests;
+import com.tennismatch.matchapp.cache.EntityTags;
+import com.tennismatch.matchapp.cache.ProposalListVersions;
+import com.tennismatch.matchapp.dto.CreateProposalRequest;
+import com.tennismatch.matchapp.dto.MatchResponse;
+import com.tennismatch.matchapp.dto.PlayProposalResponse;
+import com.tennismatch.matchapp.dto.UpdateProposalRequest;
+import com.tennismatch.matchapp.model.NtrpLevel;
+import com.tennismatch.matchapp.model.PlayProposal;
+import com.tennismatch.matchapp.service.PlayProposalService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/match-proposals")
+public class PlayProposalController {
+
+    private static final int MAX_SEARCH_RESULTS = 100;
+
+    private final PlayProposalService playProposalService;
+    private final ProposalListVersions proposalListVersions;
+    private final ConditionalRequests conditionalRequests;
+
+    public PlayProposalController(PlayProposalService playProposalService,
+                                  ProposalListVersions proposalListVersions,
+                                  ConditionalRequests conditionalRequests) {
+        this.playProposalService = playProposalService;
+        this.proposalListVersions = proposalListVersions;
+        this.conditionalRequests = conditionalRequests;
+    }
+
+    @PostMapping
+    public ResponseEntity<?> createProposal(@Valid @RequestBody CreateProposalRequest request, Principal principal) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(PlayProposalResponse.from(playProposalService.createProposal(principal.getName(), request)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<PlayProposalResponse>> search(@RequestParam String town,
+                                                             @RequestParam(required = false) NtrpLevel level,
+                                                             @RequestParam(required = false) String q,
+                                                             WebRequest webRequest) {
+        boolean text = q != null && !q.isBlank();
+        // The tag is taken before the query runs, so it can only ever be older than the listed data
+        String etag = text ? proposalListVersions.textSearchEtag(town, level) : proposalListVersions.etag(town, level);
+        if (conditionalRequests.checkNotModified(webRequest, "proposal-search", etag)) {
+            return null;
+        }
+        // With text the results are ranked by relevance instead of ordered by start time
+        List<PlayProposal> proposals = text
+                ? playProposalService.searchOpenProposals(town, level, q, MAX_SEARCH_RESULTS)
+                : playProposalService.findOpenProposals(town, level);
+        return ResponseEntity.ok(proposals.stream()
+                .map(PlayProposalResponse::from)
+                .toList());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<PlayProposalResponse> getProposal(@PathVariable Long id, WebRequest webRequest) {
+        Optional<LocalDateTime> version = playProposalService.findVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (conditionalRequests.checkNotModified(webRequest, "proposal", EntityTags.forEntity("proposal", id, version.get()))) {
+            return null;
+        }
+        return playProposalService.findById(id)
+                .map(proposal -> ResponseEntity.ok(PlayProposalResponse.from(proposal)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<?> updateProposal(@PathVariable Long id, @Valid @RequestBody UpdateProposalRequest request,
+                                            Principal principal) {
+        try {
+            return ResponseEntity.ok(PlayProposalResponse.from(playProposalService.updateProposal(id, principal.getName(), request)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    @PutMapping("/{id}/accept")
+    public ResponseEntity<?> acceptProposal(@PathVariable Long id, Principal principal) {
+        try {
+            return ResponseEntity.ok(MatchResponse.from(playProposalService.acceptProposal(id, principal.getName())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    @PutMapping("/{id}/cancel")
+    public ResponseEntity<?> cancelProposal(@PathVariable Long id, Principal principal) {
+        try {
+            return ResponseEntity.ok(PlayProposalResponse.from(playProposalService.cancelProposal(id, principal.getName())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+}
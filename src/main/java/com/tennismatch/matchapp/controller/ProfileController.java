@@ -0,0 +1,40 @@
+package com.tennismatch.matchapp.controller;
+
+import com.tennismatch.matchapp.cache.ConditionalRequests;
+import com.tennismatch.matchapp.cache.EntityTags;
+import com.tennismatch.matchapp.dto.UserProfileResponse;
+import com.tennismatch.matchapp.service.UserService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/users")
+public class ProfileController {
+
+    private final UserService userService;
+    private final ConditionalRequests conditionalRequests;
+
+    public ProfileController(UserService userService, ConditionalRequests conditionalRequests) {
+        this.userService = userService;
+        this.conditionalRequests = conditionalRequests;
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<UserProfileResponse> getProfile(@PathVariable Long id, WebRequest webRequest) {
+        Optional<LocalDateTime> version = userService.findVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        // Answer revalidations from the version alone, before loading and serializing the user
+        if (conditionalRequests.checkNotModified(webRequest, "profile", EntityTags.forEntity("user", id, version.get()))) {
+            return null;
+        }
+        return userService.findById(id)
+                .map(user -> ResponseEntity.ok(UserProfileResponse.from(user)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
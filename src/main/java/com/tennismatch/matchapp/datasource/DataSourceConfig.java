@@ -0,0 +1,112 @@
+package com.tennismatch.matchapp.datasource;
+
+import com.tennismatch.matchapp.sharding.ShardPools;
+import com.tennismatch.matchapp.sharding.ShardRoutingDataSource;
+import com.tennismatch.matchapp.sharding.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the application {@link DataSource}: the primary pool from {@code spring.datasource}, wrapped in
+ * read/write routing when {@code app.datasource.replicas} are configured, and in shard routing when
+ * {@code app.sharding} is enabled. Both routings pick the physical connection at the first statement
+ * of a transaction, behind a single {@link LazyConnectionDataSourceProxy}.
+ * <p>
+ * Read-only transactions ({@code @Transactional(readOnly = true)}) go to the replicas. For those,
+ * Spring's JPA dialect also switches the Hibernate session to read-only with manual flushing, so no
+ * snapshots are kept for dirty checking and nothing is flushed at commit.
+ */
+@Configuration
+@EnableConfigurationProperties({ReadReplicaProperties.class, ShardingProperties.class})
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(ReadReplicaProperties properties, DataSourceProperties primaryProperties,
+                                                     MeterRegistry meterRegistry, TaskScheduler taskScheduler) {
+        List<ReplicaNode> nodes = new ArrayList<>();
+        for (ReadReplicaProperties.Replica replica : properties.replicas()) {
+            String name = "replica-" + (nodes.size() + 1);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(name);
+            pool.setJdbcUrl(replica.url());
+            pool.setUsername(replica.username() != null ? replica.username() : primaryProperties.determineUsername());
+            pool.setPassword(replica.password() != null ? replica.password() : primaryProperties.determinePassword());
+            pool.setReadOnly(true);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            ReplicaNode node = new ReplicaNode(name, pool);
+            Gauge.builder("datasource.replica.healthy", node, n -> n.isHealthy() ? 1 : 0)
+                    .description("Whether the replica is in the read rotation")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.lag", node, ReplicaNode::lagSeconds)
+                    .description("Last measured replication lag")
+                    .baseUnit("seconds")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            FunctionCounter.builder("datasource.replica.routed", node, ReplicaNode::routedCount)
+                    .description("Connections handed out to read-only transactions")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            nodes.add(node);
+        }
+        ReplicaHealthMonitor monitor = new ReplicaHealthMonitor(nodes, properties);
+        if (!nodes.isEmpty()) {
+            taskScheduler.scheduleWithFixedDelay(monitor::checkAll, properties.healthCheckInterval());
+        }
+        return monitor;
+    }
+
+    @Bean
+    public ShardPools shardPools(ShardingProperties properties, DataSourceProperties primaryProperties,
+                                 MeterRegistry meterRegistry) {
+        Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        if (properties.enabled()) {
+            for (ShardingProperties.Shard shard : properties.shards()) {
+                HikariDataSource pool = new HikariDataSource();
+                pool.setPoolName("shard-" + shard.name());
+                pool.setJdbcUrl(shard.url());
+                pool.setUsername(shard.username() != null ? shard.username() : primaryProperties.determineUsername());
+                pool.setPassword(shard.password() != null ? shard.password() : primaryProperties.determinePassword());
+                pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+                pools.put(shard.name(), pool);
+            }
+        }
+        return new ShardPools(pools);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaHealthMonitor replicaHealthMonitor,
+                                 ShardPools shardPools) {
+        DataSource primary = replicaHealthMonitor.getReplicas().isEmpty()
+                ? primaryDataSource
+                : new ReplicaRoutingDataSource(primaryDataSource, replicaHealthMonitor.getReplicas());
+        if (shardPools.isEmpty()) {
+            return primary == primaryDataSource ? primary : new LazyConnectionDataSourceProxy(primary);
+        }
+        return new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(primary, shardPools.getPools()));
+    }
+}
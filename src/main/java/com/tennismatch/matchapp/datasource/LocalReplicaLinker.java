@@ -0,0 +1,59 @@
+package com.tennismatch.matchapp.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stands in for replication between local in-memory H2 databases, when
+ * {@link ReadReplicaProperties#linkToPrimary()} is set.
+ * <p>
+ * Once the primary's schema exists, each replica gets H2 linked tables for every table of the primary, so
+ * read-only transactions run on a separate database yet see the primary's rows with zero lag. Each replica
+ * also gets a one-row {@code replication_lag} table for the lag query to read; raising it (e.g. from the
+ * H2 console) takes the replica out of rotation like real lag would.
+ */
+@Component
+public class LocalReplicaLinker implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalReplicaLinker.class);
+
+    private final ReadReplicaProperties properties;
+    private final DataSourceProperties primaryProperties;
+    private final ReplicaHealthMonitor monitor;
+
+    public LocalReplicaLinker(ReadReplicaProperties properties, DataSourceProperties primaryProperties,
+                              ReplicaHealthMonitor monitor) {
+        this.properties = properties;
+        this.primaryProperties = primaryProperties;
+        this.monitor = monitor;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!properties.linkToPrimary() || monitor.getReplicas().isEmpty()) {
+            return;
+        }
+        for (ReplicaNode replica : monitor.getReplicas()) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(replica.dataSource());
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS replication_lag (lag DOUBLE)");
+            if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM replication_lag", Long.class) == 0) {
+                jdbcTemplate.update("INSERT INTO replication_lag VALUES (0)");
+            }
+            // One row per linked table
+            int tables = jdbcTemplate.query("CALL LINK_SCHEMA('PUBLIC', '', ?, ?, ?, 'PUBLIC')", rs -> {
+                int count = 0;
+                while (rs.next()) {
+                    count++;
+                }
+                return count;
+            }, primaryProperties.determineUrl(), primaryProperties.determineUsername(), primaryProperties.determinePassword());
+            log.info("Linked {} tables of the primary into replica {}", tables, replica.name());
+        }
+        // Replicas probed before their tables existed were taken out of rotation
+        monitor.checkAll();
+    }
+}
@@ -0,0 +1,33 @@
+package com.tennismatch.matchapp.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas used for read-only transactions. With no replicas configured every transaction
+ * goes to the primary {@code spring.datasource}.
+ *
+ * @param replicas            JDBC settings of each replica
+ * @param maxLag              replicas lagging further behind the primary are taken out of rotation
+ * @param lagQuery            query returning the replica lag in seconds, e.g. for PostgreSQL
+ *                            {@code SELECT EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())};
+ *                            when empty only connectivity is checked
+ * @param healthCheckInterval how often replicas are probed
+ * @param linkToPrimary       for local in-memory H2 replicas only: link every table of the primary into each
+ *                            replica at startup, so reads see the primary's data through a separate database
+ *                            (see {@link LocalReplicaLinker})
+ */
+@ConfigurationProperties(prefix = "app.datasource")
+public record ReadReplicaProperties(
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("5s") Duration maxLag,
+        String lagQuery,
+        @DefaultValue("10s") Duration healthCheckInterval,
+        @DefaultValue("false") boolean linkToPrimary) {
+
+    public record Replica(String url, String username, String password) {
+    }
+}
@@ -0,0 +1,80 @@
+package com.tennismatch.matchapp.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Periodically probes each replica for connectivity and, when a lag query is configured, for
+ * replication lag. Replicas beyond {@link ReadReplicaProperties#maxLag()} are taken out of rotation
+ * until they catch up.
+ */
+public class ReplicaHealthMonitor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaHealthMonitor.class);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final List<ReplicaNode> replicas;
+    private final ReadReplicaProperties properties;
+
+    public ReplicaHealthMonitor(List<ReplicaNode> replicas, ReadReplicaProperties properties) {
+        this.replicas = replicas;
+        this.properties = properties;
+    }
+
+    public List<ReplicaNode> getReplicas() {
+        return replicas;
+    }
+
+    public void checkAll() {
+        for (ReplicaNode replica : replicas) {
+            check(replica);
+        }
+    }
+
+    void check(ReplicaNode replica) {
+        boolean wasHealthy = replica.isHealthy();
+        try (Connection connection = replica.dataSource().getConnection()) {
+            if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                replica.markUnhealthy();
+            } else {
+                double lag = measureLag(connection);
+                if (lag > properties.maxLag().toMillis() / 1000.0) {
+                    replica.markUnhealthy();
+                } else {
+                    replica.markHealthy(lag);
+                }
+            }
+        } catch (SQLException e) {
+            replica.markUnhealthy();
+        }
+        if (wasHealthy != replica.isHealthy()) {
+            log.info("Replica {} is now {}", replica.name(), replica.isHealthy() ? "in rotation" : "out of rotation");
+        }
+    }
+
+    private double measureLag(Connection connection) throws SQLException {
+        if (properties.lagQuery() == null || properties.lagQuery().isBlank()) {
+            return 0;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(properties.lagQuery())) {
+            // A NULL lag (e.g. a replica that has not replayed anything yet) counts as in sync
+            return resultSet.next() ? resultSet.getDouble(1) : 0;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (ReplicaNode replica : replicas) {
+            if (replica.dataSource() instanceof AutoCloseable pool) {
+                pool.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.tennismatch.matchapp.datasource;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One read replica and its current health as seen by {@link ReplicaHealthMonitor}.
+ */
+public class ReplicaNode {
+
+    private final String name;
+    private final DataSource dataSource;
+    private final LongAdder routed = new LongAdder();
+    private volatile boolean healthy = true;
+    private volatile double lagSeconds;
+
+    public ReplicaNode(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public void markHealthy(double lagSeconds) {
+        this.lagSeconds = lagSeconds;
+        this.healthy = true;
+    }
+
+    public void markUnhealthy() {
+        this.healthy = false;
+    }
+
+    public double lagSeconds() {
+        return lagSeconds;
+    }
+
+    void recordRouted() {
+        routed.increment();
+    }
+
+    public long routedCount() {
+        return routed.sum();
+    }
+}
@@ -0,0 +1,77 @@
+package com.tennismatch.matchapp.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections requested inside read-only transactions to the replicas, round-robin over the
+ * healthy ones, and everything else to the primary. A replica that refuses a connection is marked
+ * unhealthy and the next one is tried; with no healthy replica left reads fall back to the primary.
+ * <p>
+ * The read-only flag is only known once the transaction has started, so this data source must sit
+ * behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} that defers
+ * fetching the physical connection until the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<ReplicaNode> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<ReplicaNode> replicas) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(Connector connector) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return connector.connect(primary);
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            ReplicaNode replica = replicas.get((start + i) % size);
+            if (!replica.isHealthy()) {
+                continue;
+            }
+            try {
+                Connection connection = connector.connect(replica.dataSource());
+                replica.recordRouted();
+                return connection;
+            } catch (SQLException e) {
+                log.warn("Replica {} refused a connection, taking it out of rotation", replica.name(), e);
+                replica.markUnhealthy();
+            }
+        }
+        return connector.connect(primary);
+    }
+
+    @FunctionalInterface
+    private interface Connector {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    public List<ReplicaNode> getReplicas() {
+        return replicas;
+    }
+}
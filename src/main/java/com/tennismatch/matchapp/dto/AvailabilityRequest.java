@@ -0,0 +1,27 @@
+package com.tennismatch.matchapp.dto;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AvailabilityRequest {
+
+    @NotNull(message = "Start time is mandatory")
+    @Future(message = "Start time must be in the future")
+    private LocalDateTime startTime;
+
+    // Must be after the start time (checked in the service)
+    @NotNull(message = "End time is mandatory")
+    private LocalDateTime endTime;
+}
@@ -0,0 +1,36 @@
+package com.tennismatch.matchapp.dto;
+
+import com.tennismatch.matchapp.model.AvailabilityStatus;
+import com.tennismatch.matchapp.model.AvailabilityWindow;
+import com.tennismatch.matchapp.model.NtrpLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AvailabilityResponse {
+
+    private Long id;
+    private String town;
+    private NtrpLevel ntrpLevel;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private AvailabilityStatus status;
+
+    public static AvailabilityResponse from(AvailabilityWindow window) {
+        return AvailabilityResponse.builder()
+                .id(window.getId())
+                .town(window.getTown())
+                .ntrpLevel(window.getNtrpLevel())
+                .startTime(window.getStartTime())
+                .endTime(window.getEndTime())
+                .status(window.getStatus())
+                .build();
+    }
+}
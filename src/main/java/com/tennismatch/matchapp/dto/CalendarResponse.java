@@ -0,0 +1,24 @@
+package com.tennismatch.matchapp.dto;
+
+import com.tennismatch.matchapp.calendar.TimeOfDay;
+import com.tennismatch.matchapp.model.NtrpLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CalendarResponse {
+
+    private String town;
+    private LocalDate from;
+    private LocalDate to;
+    // Open proposals by day, time of day and level; empty days and times are left out
+    private Map<LocalDate, Map<TimeOfDay, Map<NtrpLevel, Integer>>> openProposals;
+}
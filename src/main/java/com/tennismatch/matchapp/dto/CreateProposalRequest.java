@@ -0,0 +1,35 @@
+package com.tennismatch.matchapp.dto;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateProposalRequest {
+
+    @NotNull(message = "Start time is mandatory")
+    @Future(message = "Start time must be in the future")
+    private LocalDateTime proposedStartTime;
+
+    // Optional, must be after the start time when given (checked in the service)
+    private LocalDateTime proposedEndTime;
+
+    @NotBlank(message = "Location is mandatory")
+    @Size(max = 255)
+    private String locationDetails;
+
+    @Size(max = 2000)
+    private String notes;
+}
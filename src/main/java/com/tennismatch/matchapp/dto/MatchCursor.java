@@ -0,0 +1,33 @@
+package com.tennismatch.matchapp.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position after the last match of a page: the next page continues with the matches that sort after
+ * this start time and id. Passed to clients as an opaque string.
+ */
+public record MatchCursor(LocalDateTime proposedStartTime, long id) {
+
+    public static MatchCursor after(MatchResponse match) {
+        return new MatchCursor(match.getProposedStartTime(), match.getId());
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((proposedStartTime + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MatchCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf('|');
+            return new MatchCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Error: Invalid cursor!");
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.tennismatch.matchapp.dto;
+
+import com.tennismatch.matchapp.model.Match;
+import com.tennismatch.matchapp.model.MatchStatus;
+import com.tennismatch.matchapp.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MatchResponse {
+
+    private Long id;
+    private Long proposalId;
+    private Long proposingUserId;
+    private String proposingUserName;
+    private Long requestingUserId;
+    private String requestingUserName;
+    private MatchStatus status;
+    private LocalDateTime proposedStartTime;
+    private String locationDetails;
+    private LocalDateTime createdAt;
+    private boolean archived;
+
+    public static MatchResponse from(Match match) {
+        User proposer = match.getPlayerOne();
+        User requester = match.getPlayerTwo();
+        return MatchResponse.builder()
+                .id(match.getId())
+                .proposalId(match.getPlayProposal().getId())
+                .proposingUserId(proposer.getId())
+                .proposingUserName(displayName(proposer.getFirstName(), proposer.getLastName()))
+                .requestingUserId(requester.getId())
+                .requestingUserName(displayName(requester.getFirstName(), requester.getLastName()))
+                .status(match.getStatus())
+                .proposedStartTime(match.getPlayProposal().getProposedStartTime())
+                .locationDetails(match.getPlayProposal().getLocationDetails())
+                .createdAt(match.getCreatedAt())
+                .build();
+    }
+
+    public static String displayName(String firstName, String lastName) {
+        return firstName + " " + lastName;
+    }
+}
@@ -0,0 +1,35 @@
+package com.tennismatch.matchapp.dto;
+
+import java.util.Comparator;
+
+/**
+ * Which of a player's matches to list, and in which order.
+ */
+public enum MatchTimeframe {
+    /** All matches, latest start first. */
+    ALL(false),
+    /** Matches starting from now on, soonest first. */
+    UPCOMING(true),
+    /** Matches that started before now, latest first. */
+    PAST(false);
+
+    private final boolean ascending;
+
+    MatchTimeframe(boolean ascending) {
+        this.ascending = ascending;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    /**
+     * Order of the listed matches by start time, ties broken by id.
+     */
+    public Comparator<MatchResponse> order() {
+        Comparator<MatchResponse> earliestFirst = Comparator
+                .comparing(MatchResponse::getProposedStartTime)
+                .thenComparing(MatchResponse::getId);
+        return ascending ? earliestFirst : earliestFirst.reversed();
+    }
+}
@@ -0,0 +1,51 @@
+package com.tennismatch.matchapp.dto;
+
+import com.tennismatch.matchapp.model.NtrpLevel;
+import com.tennismatch.matchapp.model.PlayProposal;
+import com.tennismatch.matchapp.model.ProposalStatus;
+import com.tennismatch.matchapp.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlayProposalResponse {
+
+    private Long id;
+    private Long proposerId;
+    private String proposerFirstName;
+    private String proposerLastName;
+    private NtrpLevel proposerNtrpLevel;
+    private String homeTown;
+    private LocalDateTime proposedStartTime;
+    private LocalDateTime proposedEndTime;
+    private String locationDetails;
+    private String notes;
+    private ProposalStatus status;
+
+    /**
+     * Maps a proposal whose proposing user has already been fetched.
+     */
+    public static PlayProposalResponse from(PlayProposal proposal) {
+        User proposer = proposal.getProposingUser();
+        return PlayProposalResponse.builder()
+                .id(proposal.getId())
+                .proposerId(proposer.getId())
+                .proposerFirstName(proposer.getFirstName())
+                .proposerLastName(proposer.getLastName())
+                .proposerNtrpLevel(proposer.getNtrpLevel())
+                .homeTown(proposer.getHomeTown())
+                .proposedStartTime(proposal.getProposedStartTime())
+                .proposedEndTime(proposal.getProposedEndTime())
+                .locationDetails(proposal.getLocationDetails())
+                .notes(proposal.getNotes())
+                .status(proposal.getStatus())
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.tennismatch.matchapp.dto;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Fields left null keep their current value
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UpdateProposalRequest {
+
+    @Future(message = "Start time must be in the future")
+    private LocalDateTime proposedStartTime;
+
+    private LocalDateTime proposedEndTime;
+
+    @Pattern(regexp = ".*\\S.*", message = "Location must not be blank")
+    @Size(max = 255)
+    private String locationDetails;
+
+    @Size(max = 2000)
+    private String notes;
+}
@@ -0,0 +1,36 @@
+package com.tennismatch.matchapp.dto;
+
+import com.tennismatch.matchapp.model.NtrpLevel;
+import com.tennismatch.matchapp.model.Sex;
+import com.tennismatch.matchapp.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserProfileResponse {
+
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private NtrpLevel ntrpLevel;
+    private String homeTown;
+    private Integer age;
+    private Sex sex;
+
+    public static UserProfileResponse from(User user) {
+        return UserProfileResponse.builder()
+                .id(user.getId())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .ntrpLevel(user.getNtrpLevel())
+                .homeTown(user.getHomeTown())
+                .age(user.getAge())
+                .sex(user.getSex())
+                .build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.tennismatch.matchapp.event;
+
+import com.tennismatch.matchapp.model.NtrpLevel;
+import com.tennismatch.matchapp.model.ProposalStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published whenever a {@link com.tennismatch.matchapp.model.PlayProposal} is created, edited or changes status.
+ * Listeners that keep derived state (caches, counters) should consume it after commit.
+ *
+ * @param proposalId        id of the affected proposal
+ * @param town              home town of the proposing user
+ * @param level             NTRP level of the proposing user
+ * @param proposedStartTime start time of the proposal after the change
+ * @param previousStartTime start time before the change, {@code null} for newly created proposals
+ * @param previousStatus    status before the change, {@code null} for newly created proposals
+ * @param status            status after the change
+ * @param locationDetails   location text after the change
+ * @param notes             notes after the change, may be {@code null}
+ * @param publishedAt       when the change was published, while the proposal was locked; later than any
+ *                          earlier version of it was written
+ */
+public record ProposalLifecycleEvent(
+        Long proposalId,
+        String town,
+        NtrpLevel level,
+        LocalDateTime proposedStartTime,
+        LocalDateTime previousStartTime,
+        ProposalStatus previousStatus,
+        ProposalStatus status,
+        String locationDetails,
+        String notes,
+        LocalDateTime publishedAt) {
+}
@@ -0,0 +1,8 @@
+package com.tennismatch.matchapp.event;
+
+/**
+ * Published when a user row is created or changed, so copies of it (see
+ * {@link com.tennismatch.matchapp.sharding.ShardReferenceReplicator}) can be refreshed after commit.
+ */
+public record UserChangedEvent(Long userId) {
+}
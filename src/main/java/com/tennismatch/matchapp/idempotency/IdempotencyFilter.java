@@ -0,0 +1,274 @@
+package com.tennismatch.matchapp.idempotency;
+
+import com.tennismatch.matchapp.limit.ConcurrencyLimitFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes write requests carrying an {@code Idempotency-Key} header safe to retry.
+ * <p>
+ * The key is scoped to the method, path and authenticated caller, so the same key sent by two users or
+ * to two endpoints never collides. The first request runs and its response is stored (server errors
+ * excepted, so those can be retried); duplicates, whether concurrent or later, get the stored response
+ * with {@code Idempotent-Replayed: true} and never reach the controller. A duplicate whose body differs
+ * from the original's is rejected with 422. A duplicate arriving while the original is still running waits
+ * only briefly for it and otherwise gets 409; that wait is not counted as a latency sample by the
+ * {@link ConcurrencyLimitFilter}, since it measures the original request rather than the server.
+ * <p>
+ * Runs after Spring Security, which it needs to know the caller. Exports
+ * {@code idempotency.requests{outcome}} and {@code idempotency.entries}.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<String> METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final List<String> REPLAYED_HEADERS = List.of(HttpHeaders.LOCATION, HttpHeaders.ETAG, HttpHeaders.VARY);
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public IdempotencyFilter(IdempotencyStore store, IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("idempotency.entries", store, IdempotencyStore::size)
+                .description("Idempotency keys currently remembered")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !METHODS.contains(request.getMethod()) || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST, "Error: Idempotency key must be 1 to " + MAX_KEY_LENGTH + " characters!");
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(properties.maxBodyBytes() + 1);
+        if (body.length > properties.maxBodyBytes()) {
+            // Too large to keep; the rest of the body is still unread, so hand the stream on untouched
+            count("too-large");
+            chain.doFilter(new CachedBodyRequest(request, body, true), response);
+            return;
+        }
+
+        String scope = request.getMethod() + " " + request.getRequestURI() + " " + caller() + " " + key;
+        String fingerprint = fingerprint(body);
+        IdempotencyStore.Entry existing = store.claim(scope, fingerprint);
+        if (existing != null) {
+            replay(existing, fingerprint, request, response);
+            return;
+        }
+
+        count("executed");
+        ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(new CachedBodyRequest(request, body, false), captured);
+            if (captured.getStatus() < 500 && captured.getContentSize() <= properties.maxBodyBytes()) {
+                store.complete(scope, capture(captured));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.release(scope);
+            }
+            captured.copyBodyToResponse();
+        }
+    }
+
+    private void replay(IdempotencyStore.Entry existing, String fingerprint, HttpServletRequest request,
+                        HttpServletResponse response) throws IOException {
+        if (!existing.getFingerprint().equals(fingerprint)) {
+            count("mismatch");
+            reject(response, HttpStatus.UNPROCESSABLE_ENTITY, "Error: Idempotency key was already used for a different request!");
+            return;
+        }
+        boolean inFlight = !existing.getResponse().isDone();
+        if (inFlight) {
+            request.setAttribute(ConcurrencyLimitFilter.UNSAMPLED_ATTRIBUTE, Boolean.TRUE);
+        }
+        StoredResponse stored;
+        try {
+            stored = existing.getResponse().get(properties.inFlightWait().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            stored = null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stored = null;
+        }
+        if (stored == null) {
+            count("unavailable");
+            reject(response, HttpStatus.CONFLICT, "Error: The original request with this idempotency key has not completed, please retry!");
+            return;
+        }
+        count(inFlight ? "coalesced" : "replayed");
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        stored.headers().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static StoredResponse capture(ContentCachingResponseWrapper response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : REPLAYED_HEADERS) {
+            if (response.containsHeader(name)) {
+                headers.put(name, List.copyOf(response.getHeaders(name)));
+            }
+        }
+        return new StoredResponse(response.getStatus(), response.getContentType(), headers, response.getContentAsByteArray());
+    }
+
+    private static String caller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return "-";
+        }
+        return authentication.getName();
+    }
+
+    private static String fingerprint(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private void count(String outcome) {
+        Counter.builder("idempotency.requests")
+                .description("Write requests carrying an idempotency key, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(message);
+    }
+
+    /** Request whose body was read ahead, served again from memory (followed by the rest of the stream if cut off). */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+        private final boolean truncated;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body, boolean truncated) {
+            super(request);
+            this.body = body;
+            this.truncated = truncated;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            ByteArrayInputStream head = new ByteArrayInputStream(body);
+            ServletInputStream rest = truncated ? super.getInputStream() : null;
+            return new ServletInputStream() {
+                @Override
+                public int read() throws IOException {
+                    int next = head.read();
+                    return next >= 0 || rest == null ? next : rest.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    // Never mix both sources in one call, so a non-blocking rest is only read when ready
+                    if (len == 0 || head.available() > 0 || rest == null) {
+                        return head.read(b, off, len);
+                    }
+                    return rest.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return head.available() == 0 && (rest == null || rest.isFinished());
+                }
+
+                @Override
+                public boolean isReady() {
+                    return head.available() > 0 || rest == null || rest.isReady();
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    if (rest != null) {
+                        // The container calls back once the rest has data; the head is readable before that
+                        rest.setReadListener(listener);
+                        return;
+                    }
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return truncated ? super.getContentLength() : body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return truncated ? super.getContentLengthLong() : body.length;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.tennismatch.matchapp.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Handling of {@code Idempotency-Key} on write requests.
+ *
+ * @param enabled      whether the header is honoured
+ * @param ttl          how long a completed response is replayed for duplicates
+ * @param maxEntries   bound on stored responses; the oldest are evicted first
+ * @param maxBodyBytes largest request or response body a key is stored for; bigger requests are processed normally
+ * @param inFlightWait how long a duplicate waits for the original request before giving up with 409; kept short,
+ *                     since the duplicate holds a concurrency permit while it waits
+ */
+@ConfigurationProperties(prefix = "app.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("10000") int maxEntries,
+        @DefaultValue("65536") int maxBodyBytes,
+        @DefaultValue("1s") Duration inFlightWait) {
+}
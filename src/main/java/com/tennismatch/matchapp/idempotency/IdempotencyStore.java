@@ -0,0 +1,109 @@
+package com.tennismatch.matchapp.idempotency;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bounded in-memory map from idempotency scope (key, caller and endpoint) to the request's response.
+ * <p>
+ * The first request for a scope claims it with an in-flight entry; duplicates get that entry and wait on
+ * its future, so concurrent retries are coalesced onto the original instead of running again. Entries are
+ * kept in insertion order, and since they all live for the same TTL, expired ones are always at the head
+ * and are dropped there on every claim. Beyond {@code maxEntries} the oldest entry is evicted, even if
+ * it has not expired. Failed requests release their scope so the client's retry runs again.
+ * <p>
+ * Responses are local to this instance; a retry routed to another instance runs again.
+ */
+public class IdempotencyStore {
+
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Clock clock;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    public IdempotencyStore(Duration ttl, int maxEntries, Clock clock) {
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * Registers a new in-flight entry for the scope, or returns the existing one.
+     * @return the existing entry, or {@code null} if the caller now owns the scope and must run the request
+     */
+    public synchronized Entry claim(String scope, String fingerprint) {
+        long now = clock.millis();
+        purgeExpired(now);
+        Entry existing = entries.get(scope);
+        if (existing != null) {
+            return existing;
+        }
+        entries.put(scope, new Entry(fingerprint, now + ttl.toMillis()));
+        if (entries.size() > maxEntries) {
+            Iterator<Entry> oldest = entries.values().iterator();
+            oldest.next().response.complete(null);
+            oldest.remove();
+        }
+        return null;
+    }
+
+    /**
+     * Stores the response of the request that claimed the scope and releases its waiting duplicates.
+     */
+    public synchronized void complete(String scope, StoredResponse response) {
+        Entry entry = entries.get(scope);
+        if (entry != null) {
+            entry.response.complete(response);
+        }
+    }
+
+    /**
+     * Forgets the scope after its request failed; waiting duplicates see {@code null}.
+     */
+    public synchronized void release(String scope) {
+        Entry entry = entries.remove(scope);
+        if (entry != null) {
+            entry.response.complete(null);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void purgeExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.expiresAt > now) {
+                return;
+            }
+            entry.response.complete(null);
+            iterator.remove();
+        }
+    }
+
+    public static final class Entry {
+        private final String fingerprint;
+        private final long expiresAt;
+        private final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+
+        private Entry(String fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        /** Completes with the stored response, or with {@code null} if the original request failed. */
+        public CompletableFuture<StoredResponse> getResponse() {
+            return response;
+        }
+    }
+}
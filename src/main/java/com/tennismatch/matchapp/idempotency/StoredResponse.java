@@ -0,0 +1,12 @@
+package com.tennismatch.matchapp.idempotency;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response of a completed request, replayed to duplicates.
+ *
+ * @param headers selected headers such as {@code Location} and {@code ETag}
+ */
+public record StoredResponse(int status, String contentType, Map<String, List<String>> headers, byte[] body) {
+}
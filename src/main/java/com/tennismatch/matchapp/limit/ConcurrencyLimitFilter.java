@@ -0,0 +1,102 @@
+package com.tennismatch.matchapp.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Sheds requests beyond each endpoint group's {@link GradientLimiter} with 503 and {@code Retry-After},
+ * before they reach Spring Security (and BCrypt) or take a database connection.
+ * <p>
+ * Exports {@code http.concurrency.limit{group}}, {@code http.concurrency.inflight{group}} and
+ * {@code http.concurrency.rejected{group}}.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * Request attribute set by filters further down the chain when the request mostly waited on another
+     * request; its permit is then returned without a latency sample.
+     */
+    public static final String UNSAMPLED_ATTRIBUTE = ConcurrencyLimitFilter.class.getName() + ".UNSAMPLED";
+
+    private final Map<EndpointGroup, GradientLimiter> limiters = new EnumMap<>(EndpointGroup.class);
+    private final Map<EndpointGroup, Counter> rejections = new EnumMap<>(EndpointGroup.class);
+    private final String retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.retryAfterSeconds = String.valueOf(Math.max(1, properties.retryAfter().toSeconds()));
+        for (EndpointGroup group : EndpointGroup.values()) {
+            ConcurrencyLimitProperties.Group limits = properties.group(group);
+            GradientLimiter limiter = new GradientLimiter(limits.initialLimit(), limits.minLimit(), limits.maxLimit(),
+                    properties.tolerance(), properties.smoothing(), properties.backoffRatio());
+            limiters.put(group, limiter);
+            Gauge.builder("http.concurrency.limit", limiter, GradientLimiter::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("group", group.getTag())
+                    .register(meterRegistry);
+            Gauge.builder("http.concurrency.inflight", limiter, GradientLimiter::getInFlight)
+                    .description("Requests currently holding a concurrency permit")
+                    .tag("group", group.getTag())
+                    .register(meterRegistry);
+            rejections.put(group, Counter.builder("http.concurrency.rejected")
+                    .description("Requests shed because the concurrency limit was reached")
+                    .tag("group", group.getTag())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointGroup group = EndpointGroup.of(request);
+        if (group == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        GradientLimiter limiter = limiters.get(group);
+        int inFlight = limiter.tryAcquire();
+        if (inFlight < 0) {
+            rejections.get(group).increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write("Error: Server is busy, please retry later!");
+            return;
+        }
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            chain.doFilter(request, response);
+            dropped = response.getStatus() >= 500;
+        } finally {
+            if (request.getAttribute(UNSAMPLED_ATTRIBUTE) != null) {
+                limiter.abandon();
+            } else {
+                limiter.release(System.nanoTime() - start, inFlight, dropped);
+            }
+        }
+    }
+
+    /**
+     * Resets every group's limiter, see {@link GradientLimiter#reset()}.
+     */
+    public void reset() {
+        limiters.values().forEach(GradientLimiter::reset);
+    }
+
+    GradientLimiter limiter(EndpointGroup group) {
+        return limiters.get(group);
+    }
+}
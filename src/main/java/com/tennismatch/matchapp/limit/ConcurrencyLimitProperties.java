@@ -0,0 +1,43 @@
+package com.tennismatch.matchapp.limit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Adaptive concurrency limits per {@link EndpointGroup}.
+ *
+ * @param enabled      whether requests are limited at all
+ * @param retryAfter   {@code Retry-After} sent with rejections
+ * @param tolerance    how much slower than the long-term average a request may be before the limit shrinks
+ * @param smoothing    share of each computed limit applied at once, between 0 and 1
+ * @param backoffRatio factor applied to the limit when a request fails with a server error
+ * @param groups       limit bounds per group; groups not listed use their default initial limit
+ */
+@ConfigurationProperties(prefix = "app.limits")
+public record ConcurrencyLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1s") Duration retryAfter,
+        @DefaultValue("2.0") double tolerance,
+        @DefaultValue("0.2") double smoothing,
+        @DefaultValue("0.9") double backoffRatio,
+        Map<EndpointGroup, Group> groups) {
+
+    public Group group(EndpointGroup group) {
+        Group configured = groups != null ? groups.get(group) : null;
+        return configured != null ? configured : new Group(group.getDefaultInitialLimit(), 4, 1000);
+    }
+
+    /**
+     * @param initialLimit concurrent requests allowed at startup
+     * @param minLimit     floor the limit never shrinks below
+     * @param maxLimit     ceiling the limit never grows above
+     */
+    public record Group(
+            @DefaultValue("20") int initialLimit,
+            @DefaultValue("4") int minLimit,
+            @DefaultValue("1000") int maxLimit) {
+    }
+}
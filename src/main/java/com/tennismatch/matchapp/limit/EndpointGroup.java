@@ -0,0 +1,51 @@
+package com.tennismatch.matchapp.limit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Endpoints that share a concurrency limit. Requests outside every group, actuator and health checks
+ * included, are never limited.
+ */
+public enum EndpointGroup {
+
+    /** Registration and anything else under {@code /api/auth}, dominated by BCrypt hashing. */
+    AUTH("auth", 20),
+    /** Open proposal search, the hottest read. */
+    SEARCH("search", 100),
+    /** Creating, editing, accepting and cancelling proposals. */
+    PROPOSAL_WRITES("proposal-writes", 50);
+
+    private final String tag;
+    private final int defaultInitialLimit;
+
+    EndpointGroup(String tag, int defaultInitialLimit) {
+        this.tag = tag;
+        this.defaultInitialLimit = defaultInitialLimit;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    int getDefaultInitialLimit() {
+        return defaultInitialLimit;
+    }
+
+    /**
+     * Group of the request, or {@code null} if it is not limited.
+     */
+    public static EndpointGroup of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        boolean read = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+        if (path.startsWith("/api/auth/")) {
+            return AUTH;
+        }
+        if (read && path.equals("/api/match-proposals/search")) {
+            return SEARCH;
+        }
+        if (!read && (path.equals("/api/match-proposals") || path.startsWith("/api/match-proposals/"))) {
+            return PROPOSAL_WRITES;
+        }
+        return null;
+    }
+}
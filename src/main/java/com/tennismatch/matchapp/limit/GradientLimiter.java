@@ -0,0 +1,127 @@
+package com.tennismatch.matchapp.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to observed latency.
+ * <p>
+ * Each completed request compares its latency with a long-term average. While a request is not
+ * slower than {@code tolerance} times that average, the limit grows by roughly its square root per
+ * sample, so it probes for more capacity quickly when small and carefully when large. Once latency
+ * rises above the tolerance, which is what queueing on a saturated pool or CPU looks like, the ratio
+ * (at most halving) scales the limit down. Failed requests back off multiplicatively. Changes are
+ * smoothed, and samples taken while fewer than half the permits were in use are ignored for growth,
+ * since they say nothing about what the system could take.
+ * <p>
+ * Requests beyond the limit are rejected immediately instead of queueing.
+ */
+public class GradientLimiter {
+
+    // Roughly how many samples the long-term average spans
+    private static final int LONG_WINDOW = 600;
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int currentLimit;
+    private double limit;
+    private double longRtt;
+    private long samples;
+
+    public GradientLimiter(int initialLimit, int minLimit, int maxLimit,
+                           double tolerance, double smoothing, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+        this.currentLimit = initialLimit;
+    }
+
+    /**
+     * Takes a permit if one is free.
+     * @return requests in flight including this one, to be passed to {@link #release}, or -1 if rejected
+     */
+    public int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= currentLimit) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Returns a permit and feeds the request's outcome into the limit.
+     * @param rttNanos latency of the request
+     * @param inFlightAtStart value returned by {@link #tryAcquire}
+     * @param dropped whether the request failed on the server side
+     */
+    public void release(long rttNanos, int inFlightAtStart, boolean dropped) {
+        inFlight.decrementAndGet();
+        update(Math.max(rttNanos, 1), inFlightAtStart, dropped);
+    }
+
+    /**
+     * Returns a permit without feeding anything into the limit, for requests whose latency was spent
+     * waiting on something else and says nothing about the system's capacity.
+     */
+    public void abandon() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Forgets the learned limit and latency average, for when earlier samples no longer describe the
+     * system, such as requests sent while the JIT and pools were still cold. Permits in flight stay taken.
+     */
+    public synchronized void reset() {
+        samples = 0;
+        longRtt = 0;
+        setLimit(initialLimit);
+    }
+
+    public int getLimit() {
+        return currentLimit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rtt, int inFlightAtStart, boolean dropped) {
+        if (dropped) {
+            setLimit(limit * backoffRatio);
+            return;
+        }
+        samples++;
+        double weight = Math.max(1.0 / LONG_WINDOW, 1.0 / samples);
+        longRtt = longRtt * (1 - weight) + rtt * weight;
+        if (longRtt > 2 * rtt) {
+            // Load fell away: let the average recover faster than the window would
+            longRtt *= 0.95;
+        }
+        if (inFlightAtStart < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / rtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        setLimit(limit * (1 - smoothing) + target * smoothing);
+    }
+
+    private void setLimit(double value) {
+        limit = Math.max(minLimit, Math.min(maxLimit, value));
+        currentLimit = (int) limit;
+    }
+}
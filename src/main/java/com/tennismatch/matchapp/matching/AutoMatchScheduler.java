@@ -0,0 +1,128 @@
+package com.tennismatch.matchapp.matching;
+
+import com.tennismatch.matchapp.service.AvailabilityService;
+import com.tennismatch.matchapp.sharding.ShardContext;
+import com.tennismatch.matchapp.sharding.ShardDirectory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Periodically pairs open availability windows and persists the results as suggested matches, booked
+ * as accepted since both players posted the time as free.
+ * <p>
+ * A pass reads all matchable windows with one projection query per shard, pairs them in memory with
+ * {@link SweepLineMatcher} and then writes the suggestions in batches of
+ * {@link MatchingProperties#batchSize()}, one transaction per batch on the shard of the pairing's town.
+ * No transaction or lock is held while matching; {@link AvailabilityService#applySuggestion} re-checks
+ * both windows, so pairings that went stale in the meantime are skipped and the windows left for the
+ * next pass.
+ * <p>
+ * Exports {@code matching.pass} (duration), {@code matching.suggestions{outcome}} and
+ * {@code matching.windows.open}.
+ */
+@Component
+@EnableConfigurationProperties(MatchingProperties.class)
+public class AutoMatchScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(AutoMatchScheduler.class);
+
+    private final AvailabilityService availabilityService;
+    private final MatchingProperties properties;
+    private final ShardDirectory shardDirectory;
+    private final SweepLineMatcher matcher;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer passTimer;
+    private final Counter created;
+    private final Counter stale;
+    private final AtomicLong openWindows = new AtomicLong();
+
+    public AutoMatchScheduler(AvailabilityService availabilityService,
+                              MatchingProperties properties,
+                              ShardDirectory shardDirectory,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.availabilityService = availabilityService;
+        this.properties = properties;
+        this.shardDirectory = shardDirectory;
+        this.matcher = new SweepLineMatcher(properties.levelTolerance(), properties.minOverlap());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passTimer = Timer.builder("matching.pass")
+                .description("Duration of a full matching pass, including persistence")
+                .register(meterRegistry);
+        this.created = outcomeCounter(meterRegistry, "created");
+        this.stale = outcomeCounter(meterRegistry, "stale");
+        Gauge.builder("matching.windows.open", openWindows, AtomicLong::get)
+                .description("Open availability windows seen by the last matching pass")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.matching.interval:PT15M}", initialDelayString = "${app.matching.initial-delay:PT1M}")
+    public void poll() {
+        if (!properties.enabled()) {
+            return;
+        }
+        passTimer.record(this::runPass);
+    }
+
+    /**
+     * Runs one matching pass.
+     * @return the number of suggested matches created
+     */
+    public int runPass() {
+        long started = System.nanoTime();
+        List<AvailabilitySlot> slots = availabilityService.findMatchableSlots(LocalDateTime.now().plus(properties.leadTime()));
+        openWindows.set(slots.size());
+        List<SuggestedPairing> pairings = matcher.match(slots);
+        long matchedAt = System.nanoTime();
+
+        // A batch transaction can only write to one shard
+        Map<String, List<SuggestedPairing>> byShard = pairings.stream()
+                .collect(Collectors.groupingBy(pairing -> shardDirectory.shardFor(pairing.first().town()),
+                        LinkedHashMap::new, Collectors.toList()));
+        int suggested = 0;
+        for (Map.Entry<String, List<SuggestedPairing>> shard : byShard.entrySet()) {
+            suggested += ShardContext.callIn(shard.getKey(), () -> persist(shard.getValue()));
+        }
+        log.info("Matched {} open windows into {} pairings in {} ms, {} suggested after persisting in {} ms",
+                slots.size(), pairings.size(), (matchedAt - started) / 1_000_000,
+                suggested, (System.nanoTime() - matchedAt) / 1_000_000);
+        return suggested;
+    }
+
+    private int persist(List<SuggestedPairing> pairings) {
+        int suggested = 0;
+        for (int from = 0; from < pairings.size(); from += properties.batchSize()) {
+            List<SuggestedPairing> batch = pairings.subList(from, Math.min(from + properties.batchSize(), pairings.size()));
+            Integer persisted = transactionTemplate.execute(status -> (int) batch.stream()
+                    .filter(pairing -> availabilityService.applySuggestion(pairing).isPresent())
+                    .count());
+            suggested += persisted;
+            created.increment(persisted);
+            stale.increment(batch.size() - persisted);
+        }
+        return suggested;
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("matching.suggestions")
+                .description("Pairings found by the matcher, by whether they could still be persisted")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,12 @@
+package com.tennismatch.matchapp.matching;
+
+import com.tennismatch.matchapp.model.NtrpLevel;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of an open {@link com.tennismatch.matchapp.model.AvailabilityWindow}, as fed to the matcher.
+ */
+public record AvailabilitySlot(Long windowId, Long userId, String town, NtrpLevel level,
+                               LocalDateTime start, LocalDateTime end) {
+}
@@ -0,0 +1,24 @@
+package com.tennismatch.matchapp.matching;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Tuning of the automatic availability matcher.
+ *
+ * @param enabled        whether this instance runs the periodic matching pass
+ * @param levelTolerance how many NTRP steps apart two players may be, 0 for the same level only
+ * @param minOverlap     shortest shared period worth suggesting a match for
+ * @param leadTime       windows starting sooner than this are left alone, so players have time to react
+ * @param batchSize      suggestions persisted per transaction
+ */
+@ConfigurationProperties(prefix = "app.matching")
+public record MatchingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1") int levelTolerance,
+        @DefaultValue("1h") Duration minOverlap,
+        @DefaultValue("2h") Duration leadTime,
+        @DefaultValue("200") int batchSize) {
+}
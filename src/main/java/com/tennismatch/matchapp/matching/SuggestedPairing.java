@@ -0,0 +1,11 @@
+package com.tennismatch.matchapp.matching;
+
+import java.time.LocalDateTime;
+
+/**
+ * Two compatible availability windows and the overlap they share. {@code first} is the window that
+ * opened earlier and becomes the proposing side of the suggested match.
+ */
+public record SuggestedPairing(AvailabilitySlot first, AvailabilitySlot second,
+                               LocalDateTime start, LocalDateTime end) {
+}
@@ -0,0 +1,135 @@
+package com.tennismatch.matchapp.matching;
+
+import com.tennismatch.matchapp.model.NtrpLevel;
+import com.tennismatch.matchapp.model.Towns;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Pairs open availability windows of compatible players, without touching the database.
+ * <p>
+ * Windows are partitioned by {@link Towns#key town key} (players never cross towns) and the partitions
+ * are swept in parallel. Within a town the windows are visited in start-time order while one "active" set per NTRP level holds
+ * the unpaired windows seen so far, ordered by end time, latest first. For the window being visited,
+ * every earlier window has already started, so the overlap with a candidate is
+ * {@code min(end, candidate.end) - start}: the best candidate of a level is the head of its set, and once
+ * the head cannot give the minimum overlap no other window of that level can. Levels are tried closest
+ * first, up to {@code levelTolerance} steps away. A town with n windows is therefore paired in
+ * O(n log n) instead of comparing every pair.
+ * <p>
+ * Pairing is greedy: a window is matched with the best candidate available when it is visited and both
+ * leave the sweep. Windows of the same player are never paired with each other.
+ */
+public class SweepLineMatcher {
+
+    private static final NtrpLevel[] LEVELS = NtrpLevel.values();
+
+    private final int levelTolerance;
+    private final long minOverlapSeconds;
+
+    public SweepLineMatcher(int levelTolerance, Duration minOverlap) {
+        if (levelTolerance < 0) {
+            throw new IllegalArgumentException("Level tolerance must not be negative");
+        }
+        this.levelTolerance = levelTolerance;
+        this.minOverlapSeconds = minOverlap.toSeconds();
+    }
+
+    public List<SuggestedPairing> match(Collection<AvailabilitySlot> slots) {
+        Map<String, List<AvailabilitySlot>> byTown = slots.stream()
+                .collect(Collectors.groupingBy(slot -> Towns.key(slot.town())));
+        return byTown.values().parallelStream()
+                .flatMap(town -> sweep(town).stream())
+                .toList();
+    }
+
+    List<SuggestedPairing> sweep(List<AvailabilitySlot> town) {
+        List<Interval> intervals = new ArrayList<>(town.size());
+        for (AvailabilitySlot slot : town) {
+            long start = slot.start().toEpochSecond(ZoneOffset.UTC);
+            long end = slot.end().toEpochSecond(ZoneOffset.UTC);
+            if (end - start >= minOverlapSeconds) {
+                intervals.add(new Interval(slot, start, end));
+            }
+        }
+        intervals.sort(Comparator.comparingLong(Interval::start).thenComparing(interval -> interval.slot().windowId()));
+
+        @SuppressWarnings("unchecked")
+        TreeSet<Interval>[] active = new TreeSet[LEVELS.length];
+        for (int i = 0; i < active.length; i++) {
+            active[i] = new TreeSet<>(Comparator.comparingLong(Interval::end).reversed()
+                    .thenComparing(interval -> interval.slot().windowId()));
+        }
+
+        List<SuggestedPairing> pairings = new ArrayList<>();
+        for (Interval current : intervals) {
+            int level = current.slot().level().ordinal();
+            Interval best = null;
+            long bestOverlap = 0;
+            for (int distance = 0; distance <= levelTolerance && best == null; distance++) {
+                int[] candidateLevels = distance == 0 ? new int[]{level} : new int[]{level - distance, level + distance};
+                for (int candidateLevel : candidateLevels) {
+                    if (candidateLevel < 0 || candidateLevel >= LEVELS.length) {
+                        continue;
+                    }
+                    Interval candidate = bestCandidate(active[candidateLevel], current);
+                    if (candidate == null) {
+                        continue;
+                    }
+                    long overlap = Math.min(candidate.end(), current.end()) - current.start();
+                    if (best == null || overlap > bestOverlap) {
+                        best = candidate;
+                        bestOverlap = overlap;
+                    }
+                }
+            }
+
+            if (best == null) {
+                active[level].add(current);
+            } else {
+                active[best.slot().level().ordinal()].remove(best);
+                long overlapEnd = Math.min(best.end(), current.end());
+                pairings.add(new SuggestedPairing(best.slot(), current.slot(),
+                        current.slot().start(),
+                        LocalDateTime.ofEpochSecond(overlapEnd, 0, ZoneOffset.UTC)));
+            }
+        }
+        return pairings;
+    }
+
+    /**
+     * Head of the set that belongs to another player, or {@code null} if it cannot give the minimum overlap.
+     * Windows that ended before {@code current} started can never be paired again and are dropped on the way.
+     */
+    private Interval bestCandidate(TreeSet<Interval> active, Interval current) {
+        Iterator<Interval> iterator = active.iterator();
+        while (iterator.hasNext()) {
+            Interval candidate = iterator.next();
+            if (candidate.end() <= current.start()) {
+                // Ordered by end descending: everything from here on has ended too
+                active.tailSet(candidate, true).clear();
+                return null;
+            }
+            if (Math.min(candidate.end(), current.end()) - current.start() < minOverlapSeconds) {
+                return null;
+            }
+            if (!candidate.slot().userId().equals(current.slot().userId())) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private record Interval(AvailabilitySlot slot, long start, long end) {
+    }
+}
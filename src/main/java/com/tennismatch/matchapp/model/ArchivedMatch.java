@@ -0,0 +1,49 @@
+package com.tennismatch.matchapp.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A match moved out of {@code matches} together with its proposal. Both players and the start time are
+ * copied onto the row, so match history can be read without joining the archived proposal.
+ */
+@Entity
+@Table(name = "archived_matches", indexes = {
+    @Index(name = "idx_archived_match_proposer", columnList = "proposerId, proposedStartTime"),
+    @Index(name = "idx_archived_match_requester", columnList = "requesterId, proposedStartTime")
+})
+@Data
+@NoArgsConstructor
+public class ArchivedMatch {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long proposalId;
+
+    @Column(nullable = false)
+    private Long proposerId;
+
+    @Column(nullable = false)
+    private Long requesterId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private MatchStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime proposedStartTime;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,50 @@
+package com.tennismatch.matchapp.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A closed proposal moved out of {@code play_proposals} by the archiver. Keeps the original id; the
+ * proposer is stored as a plain id so archived rows never block changes to users.
+ */
+@Entity
+@Table(name = "archived_play_proposals", indexes = {
+    @Index(name = "idx_archived_proposal_proposer", columnList = "proposerId")
+})
+@Data
+@NoArgsConstructor
+public class ArchivedProposal {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long proposerId;
+
+    @Column(nullable = false)
+    private LocalDateTime proposedStartTime;
+
+    private LocalDateTime proposedEndTime;
+
+    @Column(nullable = false)
+    private String locationDetails;
+
+    @Lob
+    private String notes;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ProposalStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
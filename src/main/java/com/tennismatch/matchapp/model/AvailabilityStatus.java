@@ -0,0 +1,7 @@
+package com.tennismatch.matchapp.model;
+
+public enum AvailabilityStatus {
+    OPEN,
+    MATCHED,
+    WITHDRAWN
+}
@@ -0,0 +1,55 @@
+package com.tennismatch.matchapp.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A period in which a player is free to play. Town and level are copied from the user when the
+ * window is posted, so the matcher can partition windows without joining users.
+ */
+@Entity
+@Table(name = "availability_windows", indexes = {
+    @Index(name = "idx_availability_open", columnList = "status, startTime")
+})
+@Data
+@NoArgsConstructor
+public class AvailabilityWindow {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private String town;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NtrpLevel ntrpLevel;
+
+    @Column(nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(nullable = false)
+    private LocalDateTime endTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AvailabilityStatus status;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -10,7 +10,9 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "matches")
+@Table(name = "matches", indexes = {
+    @Index(name = "idx_match_requester", columnList = "requesting_user_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,8 @@
+package com.tennismatch.matchapp.model;
+
+public enum NotificationType {
+    WELCOME,
+    PROPOSAL_ACCEPTED,
+    MATCH_CONFIRMED,
+    MATCH_SUGGESTED
+}
@@ -0,0 +1,7 @@
+package com.tennismatch.matchapp.model;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -10,7 +10,9 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "play_proposals")
+@Table(name = "play_proposals", indexes = {
+    @Index(name = "idx_proposal_proposer_start", columnList = "user_id, proposedStartTime")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,34 @@
+package com.tennismatch.matchapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Directory entry placing a town's proposals, matches and availability on a shard. Lives in the primary database.
+ */
+@Entity
+@Table(name = "shard_assignments")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardAssignment {
+
+    // Normalized town name, see ShardDirectory#key
+    @Id
+    private String town;
+
+    @Column(nullable = false)
+    private String shard;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,20 @@
+package com.tennismatch.matchapp.model;
+
+import java.util.Locale;
+
+/**
+ * Home towns are free text, so they are compared by a key: trimmed and lower-cased, making "Krakow",
+ * "krakow " and "KRAKOW" one town. Every place that groups or looks up by town uses this key: shard
+ * placement, proposal search and its list versions, the availability calendar, the supply and demand
+ * counts and the pairing of availability windows. Queries match it with {@code lower(trim(homeTown))}.
+ * Accents are kept, since a query cannot fold them portably, so "Kraków" is a different town than "Krakow" everywhere alike.
+ */
+public final class Towns {
+
+    private Towns() {
+    }
+
+    public static String key(String town) {
+        return town.trim().toLowerCase(Locale.ROOT);
+    }
+}
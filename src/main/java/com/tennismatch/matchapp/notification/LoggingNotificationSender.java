@@ -0,0 +1,17 @@
+package com.tennismatch.matchapp.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Default sender when no mail server is configured: notifications are only logged.
+ */
+public class LoggingNotificationSender implements NotificationSender {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingNotificationSender.class);
+
+    @Override
+    public void send(Notification notification) {
+        log.info("Notification to {}: {}", notification.recipient(), notification.subject());
+    }
+}
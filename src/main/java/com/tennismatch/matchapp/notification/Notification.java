@@ -0,0 +1,7 @@
+package com.tennismatch.matchapp.notification;
+
+/**
+ * A message ready to be handed to a {@link NotificationSender}.
+ */
+public record Notification(String recipient, String subject, String body) {
+}
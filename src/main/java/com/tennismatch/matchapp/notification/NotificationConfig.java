@@ -0,0 +1,25 @@
+package com.tennismatch.matchapp.notification;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSender;
+
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class NotificationConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.mail", name = "host")
+    public NotificationSender smtpNotificationSender(JavaMailSender mailSender, OutboxProperties properties) {
+        return new SmtpNotificationSender(mailSender, properties.from());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(NotificationSender.class)
+    public NotificationSender loggingNotificationSender() {
+        return new LoggingNotificationSender();
+    }
+}
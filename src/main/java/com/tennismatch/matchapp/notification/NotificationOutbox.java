@@ -0,0 +1,76 @@
+package com.tennismatch.matchapp.notification;
+
+import com.tennismatch.matchapp.model.NotificationType;
+import com.tennismatch.matchapp.model.OutboxMessage;
+import com.tennismatch.matchapp.model.OutboxStatus;
+import com.tennismatch.matchapp.model.PlayProposal;
+import com.tennismatch.matchapp.model.User;
+import com.tennismatch.matchapp.repository.OutboxMessageRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records notifications in the outbox table. Every method must run inside the transaction that makes
+ * the corresponding change, so the notification is stored if and only if the change commits; delivery
+ * happens later in {@link OutboxDispatcher}, off the request path.
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class NotificationOutbox {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+
+    public NotificationOutbox(OutboxMessageRepository outboxMessageRepository) {
+        this.outboxMessageRepository = outboxMessageRepository;
+    }
+
+    public void welcome(User user) {
+        enqueue(NotificationType.WELCOME, user.getEmail(),
+                "Welcome to Tennis Match",
+                "Hi " + user.getFirstName() + ",\n\nyour account is ready. Propose a match or browse open proposals in "
+                        + user.getHomeTown() + " to find your next game.");
+    }
+
+    public void proposalAccepted(PlayProposal proposal, User requester) {
+        User proposer = proposal.getProposingUser();
+        String when = proposal.getProposedStartTime().toString().replace('T', ' ');
+        enqueue(NotificationType.PROPOSAL_ACCEPTED, proposer.getEmail(),
+                "Your match proposal was accepted",
+                requester.getFirstName() + " " + requester.getLastName() + " (" + requester.getNtrpLevel().getDisplayName()
+                        + ") accepted your match on " + when + " at " + proposal.getLocationDetails() + ".");
+        enqueue(NotificationType.MATCH_CONFIRMED, requester.getEmail(),
+                "Your match is confirmed",
+                "You are playing " + proposer.getFirstName() + " " + proposer.getLastName() + " on " + when
+                        + " at " + proposal.getLocationDetails() + ".");
+    }
+
+    public void matchSuggested(PlayProposal proposal, User requester) {
+        User proposer = proposal.getProposingUser();
+        String when = proposal.getProposedStartTime().toString().replace('T', ' ');
+        enqueue(NotificationType.MATCH_SUGGESTED, proposer.getEmail(),
+                "We found you a match",
+                "You and " + requester.getFirstName() + " " + requester.getLastName() + " ("
+                        + requester.getNtrpLevel().getDisplayName() + ") are both free on " + when
+                        + ", so you are playing then at " + proposal.getLocationDetails() + ".");
+        enqueue(NotificationType.MATCH_SUGGESTED, requester.getEmail(),
+                "We found you a match",
+                "You and " + proposer.getFirstName() + " " + proposer.getLastName() + " ("
+                        + proposer.getNtrpLevel().getDisplayName() + ") are both free on " + when
+                        + ", so you are playing then at " + proposal.getLocationDetails() + ".");
+    }
+
+    private void enqueue(NotificationType type, String recipient, String subject, String body) {
+        OutboxMessage message = new OutboxMessage();
+        message.setType(type);
+        message.setRecipient(recipient);
+        message.setSubject(subject);
+        message.setBody(body);
+        message.setStatus(OutboxStatus.PENDING);
+        message.setAttempts(0);
+        message.setNextAttemptAt(LocalDateTime.now());
+        outboxMessageRepository.save(message);
+    }
+}
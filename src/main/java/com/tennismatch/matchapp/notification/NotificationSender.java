@@ -0,0 +1,10 @@
+package com.tennismatch.matchapp.notification;
+
+/**
+ * Delivers notifications to users. Implementations throw on failure; the outbox dispatcher
+ * takes care of retries.
+ */
+public interface NotificationSender {
+
+    void send(Notification notification) throws Exception;
+}
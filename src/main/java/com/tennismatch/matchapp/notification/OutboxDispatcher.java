@@ -0,0 +1,215 @@
+package com.tennismatch.matchapp.notification;
+
+import com.tennismatch.matchapp.model.OutboxMessage;
+import com.tennismatch.matchapp.model.OutboxStatus;
+import com.tennismatch.matchapp.repository.OutboxMessageRepository;
+import com.tennismatch.matchapp.sharding.ShardContext;
+import com.tennismatch.matchapp.sharding.ShardDirectory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers outbox messages in the background.
+ * <p>
+ * Each batch is claimed in its own short transaction ({@code FOR UPDATE SKIP LOCKED}, then the claim
+ * lease is written to {@code nextAttemptAt}), delivered without holding any lock or connection, and the
+ * outcome recorded in a second transaction. Messages for the same recipient within a batch are coalesced
+ * into a single delivery. Failed deliveries are retried with exponential backoff and jitter until
+ * {@link OutboxProperties#maxAttempts()} is reached.
+ * <p>
+ * Each shard has its own outbox table and is drained in turn.
+ * <p>
+ * Exports {@code outbox.messages{outcome}}, {@code outbox.deliveries}, {@code outbox.pending} and
+ * {@code outbox.lag} (age of the oldest undelivered message), both over all shards.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final NotificationSender notificationSender;
+    private final OutboxProperties properties;
+    private final ShardDirectory shardDirectory;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+    private final Counter deliveries;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public OutboxDispatcher(OutboxMessageRepository outboxMessageRepository,
+                            NotificationSender notificationSender,
+                            OutboxProperties properties,
+                            ShardDirectory shardDirectory,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.notificationSender = notificationSender;
+        this.properties = properties;
+        this.shardDirectory = shardDirectory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sent = outcomeCounter(meterRegistry, "sent");
+        this.retried = outcomeCounter(meterRegistry, "retried");
+        this.failed = outcomeCounter(meterRegistry, "failed");
+        this.deliveries = Counter.builder("outbox.deliveries")
+                .description("Deliveries handed to the sender after coalescing per recipient")
+                .register(meterRegistry);
+        Gauge.builder("outbox.pending", pending, AtomicLong::get)
+                .description("Messages waiting for delivery")
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag", lagMillis, value -> value.get() / 1000.0)
+                .description("Age of the oldest undelivered message")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT1S}")
+    public void poll() {
+        if (!properties.dispatchEnabled()) {
+            return;
+        }
+        // Messages are written in the transaction of the change, so every shard has its own outbox
+        for (String shard : shardDirectory.getShards()) {
+            ShardContext.runIn(shard, this::dispatchPending);
+        }
+        refreshBacklogGauges();
+    }
+
+    /**
+     * Drains due messages of the current shard, up to {@link OutboxProperties#maxBatchesPerPoll()} batches.
+     * @return the number of messages processed
+     */
+    public int dispatchPending() {
+        int processed = 0;
+        for (int batch = 0; batch < properties.maxBatchesPerPoll(); batch++) {
+            List<OutboxMessage> claimed = claimBatch();
+            if (claimed.isEmpty()) {
+                break;
+            }
+            deliver(claimed);
+            processed += claimed.size();
+            if (claimed.size() < properties.batchSize()) {
+                break;
+            }
+        }
+        return processed;
+    }
+
+    private List<OutboxMessage> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxMessage> due = outboxMessageRepository.findDueForUpdate(
+                    OutboxStatus.PENDING, now, PageRequest.of(0, properties.batchSize()));
+            LocalDateTime leaseEnd = now.plus(properties.claimLease());
+            due.forEach(message -> message.setNextAttemptAt(leaseEnd));
+            return due;
+        });
+    }
+
+    private void deliver(List<OutboxMessage> claimed) {
+        Map<String, List<OutboxMessage>> byRecipient = claimed.stream()
+                .collect(Collectors.groupingBy(OutboxMessage::getRecipient, LinkedHashMap::new, Collectors.toList()));
+        List<Long> delivered = new ArrayList<>();
+        List<FailedDelivery> undelivered = new ArrayList<>();
+        for (Map.Entry<String, List<OutboxMessage>> entry : byRecipient.entrySet()) {
+            try {
+                notificationSender.send(coalesce(entry.getKey(), entry.getValue()));
+                deliveries.increment();
+                entry.getValue().forEach(message -> delivered.add(message.getId()));
+            } catch (Exception e) {
+                log.warn("Delivering {} notification(s) to {} failed", entry.getValue().size(), entry.getKey(), e);
+                entry.getValue().forEach(message -> undelivered.add(new FailedDelivery(message, e.toString())));
+            }
+        }
+        recordOutcomes(delivered, undelivered);
+    }
+
+    static Notification coalesce(String recipient, List<OutboxMessage> messages) {
+        if (messages.size() == 1) {
+            OutboxMessage message = messages.get(0);
+            return new Notification(recipient, message.getSubject(), message.getBody());
+        }
+        String body = messages.stream()
+                .map(message -> message.getSubject() + "\n\n" + message.getBody())
+                .collect(Collectors.joining("\n\n----\n\n"));
+        return new Notification(recipient, "Tennis Match: " + messages.size() + " new updates", body);
+    }
+
+    private void recordOutcomes(List<Long> delivered, List<FailedDelivery> undelivered) {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (!delivered.isEmpty()) {
+                outboxMessageRepository.markSent(delivered, OutboxStatus.SENT, now);
+                sent.increment(delivered.size());
+            }
+            for (FailedDelivery failure : undelivered) {
+                OutboxMessage message = failure.message();
+                message.setAttempts(message.getAttempts() + 1);
+                message.setLastError(truncate(failure.error()));
+                if (message.getAttempts() >= properties.maxAttempts()) {
+                    message.setStatus(OutboxStatus.FAILED);
+                    failed.increment();
+                } else {
+                    message.setNextAttemptAt(now.plus(backoff(message.getAttempts())));
+                    retried.increment();
+                }
+                outboxMessageRepository.save(message);
+            }
+        });
+    }
+
+    /** Exponential backoff with up to 20% jitter, so a recovering mail server is not hit by a thundering herd. */
+    Duration backoff(int attempts) {
+        long base = properties.initialBackoff().toMillis() << Math.min(attempts - 1, 20);
+        long capped = Math.min(base, properties.maxBackoff().toMillis());
+        long jitter = (long) (capped * 0.2 * ThreadLocalRandom.current().nextDouble());
+        return Duration.ofMillis(capped - jitter);
+    }
+
+    private void refreshBacklogGauges() {
+        long pendingTotal = 0;
+        long maxLag = 0;
+        for (String shard : shardDirectory.getShards()) {
+            pendingTotal += ShardContext.callIn(shard, () -> outboxMessageRepository.countByStatus(OutboxStatus.PENDING));
+            maxLag = Math.max(maxLag, ShardContext.callIn(shard, () -> outboxMessageRepository.findOldestCreatedAt(OutboxStatus.PENDING))
+                    .map(oldest -> Duration.between(oldest, LocalDateTime.now()).toMillis())
+                    .orElse(0L));
+        }
+        pending.set(pendingTotal);
+        lagMillis.set(maxLag);
+    }
+
+    private record FailedDelivery(OutboxMessage message, String error) {
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= 1000 ? error : error.substring(0, 1000);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("outbox.messages")
+                .description("Outbox messages by final outcome of a delivery attempt")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.tennismatch.matchapp.notification;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Tuning of the notification outbox dispatcher.
+ *
+ * @param dispatchEnabled  whether this instance polls the outbox
+ * @param batchSize        messages claimed per round trip
+ * @param maxBatchesPerPoll upper bound on batches drained in one poll, so a backlog cannot starve other scheduled work
+ * @param claimLease       how long a claimed message is hidden from other dispatchers
+ * @param initialBackoff   delay before the first retry, doubled on every further failure
+ * @param maxBackoff       cap on the retry delay
+ * @param maxAttempts      attempts after which a message is marked failed
+ * @param from             sender address for email notifications
+ */
+@ConfigurationProperties(prefix = "app.outbox")
+public record OutboxProperties(
+        @DefaultValue("true") boolean dispatchEnabled,
+        @DefaultValue("100") int batchSize,
+        @DefaultValue("10") int maxBatchesPerPoll,
+        @DefaultValue("2m") Duration claimLease,
+        @DefaultValue("30s") Duration initialBackoff,
+        @DefaultValue("1h") Duration maxBackoff,
+        @DefaultValue("8") int maxAttempts,
+        @DefaultValue("no-reply@tennismatch.local") String from) {
+}
@@ -0,0 +1,28 @@
+package com.tennismatch.matchapp.notification;
+
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+/**
+ * Sends notifications as plain-text email through the configured {@code spring.mail} server.
+ */
+public class SmtpNotificationSender implements NotificationSender {
+
+    private final JavaMailSender mailSender;
+    private final String from;
+
+    public SmtpNotificationSender(JavaMailSender mailSender, String from) {
+        this.mailSender = mailSender;
+        this.from = from;
+    }
+
+    @Override
+    public void send(Notification notification) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(notification.recipient());
+        message.setSubject(notification.subject());
+        message.setText(notification.body());
+        mailSender.send(message);
+    }
+}
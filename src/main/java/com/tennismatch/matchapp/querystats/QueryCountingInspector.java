@@ -0,0 +1,19 @@
+package com.tennismatch.matchapp.querystats;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every SQL statement Hibernate prepares towards the current request's {@link RequestQueryStats}.
+ * The statement itself is passed through unchanged.
+ */
+public class QueryCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.statement(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,48 @@
+package com.tennismatch.matchapp.querystats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(QueryStatsProperties.class)
+@ConditionalOnProperty(prefix = "app.query-stats", name = "enabled", matchIfMissing = true)
+public class QueryStatsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingInspector() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountingInspector());
+    }
+
+    @Bean
+    public QueryStatsListeners queryStatsListeners(EntityManagerFactory entityManagerFactory) {
+        QueryStatsListeners listeners = new QueryStatsListeners();
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_LOAD, listeners);
+        registry.appendListeners(EventType.LOAD, listeners);
+        registry.prependListeners(EventType.INIT_COLLECTION, listeners);
+        return listeners;
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryStatsFilter> queryStatsFilter(QueryStatsProperties properties,
+                                                                     MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryStatsFilter> registration =
+                new FilterRegistrationBean<>(new QueryStatsFilter(properties, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        // Outside the security filter chain, so loading the caller's account is counted too
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 20);
+        return registration;
+    }
+}
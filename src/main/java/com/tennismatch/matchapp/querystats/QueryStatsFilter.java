@@ -0,0 +1,105 @@
+package com.tennismatch.matchapp.querystats;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Collects {@link RequestQueryStats} for each API request and reports them per endpoint.
+ * <p>
+ * Requests that repeat one statement {@link QueryStatsProperties#nPlusOneThreshold()} times or more (an N+1
+ * pattern), run more than {@link QueryStatsProperties#maxStatements()} statements or take longer than
+ * {@link QueryStatsProperties#slowRequest()} are logged with their statistics, the repeated statement and
+ * the association loaded lazily most often. The finished stats are left in the
+ * {@link RequestQueryStats#ATTRIBUTE} request attribute.
+ * <p>
+ * Exports {@code http.server.requests.queries{method,uri}} (with histogram),
+ * {@code http.server.requests.entities.loaded}, {@code http.server.requests.lazy.loads} and
+ * {@code http.server.requests.collection.fetches}, tagged the same way.
+ */
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryStatsFilter.class);
+
+    private final QueryStatsProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public QueryStatsFilter(QueryStatsProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.begin();
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestQueryStats.end();
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            request.setAttribute(RequestQueryStats.ATTRIBUTE, stats);
+            record(request, stats);
+            report(request, stats, elapsedMillis);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestQueryStats stats) {
+        String method = request.getMethod();
+        String uri = uri(request);
+        DistributionSummary.builder("http.server.requests.queries")
+                .description("SQL statements run per request")
+                .tags("method", method, "uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        summary("http.server.requests.entities.loaded", "Entities loaded per request", method, uri)
+                .record(stats.getEntitiesLoaded());
+        summary("http.server.requests.lazy.loads", "Entity proxies initialized on access per request", method, uri)
+                .record(stats.getLazyInitializations());
+        summary("http.server.requests.collection.fetches", "Collections fetched per request", method, uri)
+                .record(stats.getCollectionFetches());
+    }
+
+    private void report(HttpServletRequest request, RequestQueryStats stats, long elapsedMillis) {
+        Optional<Map.Entry<String, Integer>> repeated = stats.mostRepeated(properties.nPlusOneThreshold());
+        if (repeated.isPresent()) {
+            // The association loaded lazily most often is the likely trigger; eager ones do not show up there
+            String trigger = stats.mostLazyLoaded(properties.nPlusOneThreshold())
+                    .map(lazy -> lazy.getKey() + " loaded lazily " + lazy.getValue() + " times")
+                    .orElse("no lazy association");
+            log.warn("N+1 in {} {}: statement run {} times, {}: {} ({})", request.getMethod(), request.getRequestURI(),
+                    repeated.get().getValue(), trigger, repeated.get().getKey(), stats);
+        } else if (stats.getStatements() > properties.maxStatements()) {
+            log.warn("{} {} ran {} ({} ms)", request.getMethod(), request.getRequestURI(), stats, elapsedMillis);
+        } else if (elapsedMillis > properties.slowRequest().toMillis()) {
+            log.warn("Slow request {} {} took {} ms with {}", request.getMethod(), request.getRequestURI(),
+                    elapsedMillis, stats);
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, String method, String uri) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry);
+    }
+
+    // The route template, like Spring's own http.server.requests metrics, to keep ids out of the tags
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
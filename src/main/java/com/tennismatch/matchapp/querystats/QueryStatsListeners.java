@@ -0,0 +1,43 @@
+package com.tennismatch.matchapp.querystats;
+
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.LoadEvent;
+import org.hibernate.event.spi.LoadEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+
+/**
+ * Hibernate event listeners counting loaded entities, proxies initialized on access and collections
+ * fetched, by association, towards the current request's {@link RequestQueryStats}.
+ * <p>
+ * Must run ahead of Hibernate's own collection listener: a collection counts as fetched only if it was
+ * not initialized yet, so collections loaded together in one batch count once.
+ */
+public class QueryStatsListeners implements PostLoadEventListener, LoadEventListener, InitializeCollectionEventListener {
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.entityLoaded();
+        }
+    }
+
+    @Override
+    public void onLoad(LoadEvent event, LoadType loadType) {
+        // Proxies are initialized through an immediate load when first accessed
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null && loadType == LoadEventListener.IMMEDIATE_LOAD) {
+            stats.lazyInitialization(event.getEntityClassName());
+        }
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null && !event.getCollection().wasInitialized()) {
+            stats.collectionFetch(event.getCollection().getRole());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.tennismatch.matchapp.querystats;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Per-request query statistics and the thresholds for logging a request.
+ *
+ * @param enabled           whether statements and loads are counted per request
+ * @param nPlusOneThreshold times one association is lazily loaded, or one statement repeated, in a single
+ *                          request before it is logged as an N+1 pattern
+ * @param maxStatements     requests running more statements than this are logged
+ * @param slowRequest       requests taking longer than this are logged with their statistics
+ */
+@ConfigurationProperties(prefix = "app.query-stats")
+public record QueryStatsProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("5") int nPlusOneThreshold,
+        @DefaultValue("20") int maxStatements,
+        @DefaultValue("500ms") Duration slowRequest) {
+}
@@ -0,0 +1,107 @@
+package com.tennismatch.matchapp.querystats;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Database work done while serving one request, collected by {@link QueryCountingInspector} and
+ * {@link QueryStatsListeners} on the request thread.
+ * <p>
+ * Queries that {@link com.tennismatch.matchapp.sharding.ShardQueries#scatter} runs on its own threads are
+ * not counted.
+ */
+public class RequestQueryStats {
+
+    /** Request attribute holding the stats of a finished request, for tests and logging. */
+    public static final String ATTRIBUTE = RequestQueryStats.class.getName();
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private int entitiesLoaded;
+    private int lazyInitializations;
+    private int collectionFetches;
+    private final Map<String, Integer> statementCounts = new HashMap<>();
+    private final Map<String, Integer> lazyLoadsByAssociation = new HashMap<>();
+
+    static RequestQueryStats begin() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Stats of the request being served on this thread, if any.
+     */
+    static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    void statement(String sql) {
+        statements++;
+        statementCounts.merge(sql, 1, Integer::sum);
+    }
+
+    void entityLoaded() {
+        entitiesLoaded++;
+    }
+
+    void lazyInitialization(String entity) {
+        lazyInitializations++;
+        lazyLoadsByAssociation.merge(entity, 1, Integer::sum);
+    }
+
+    void collectionFetch(String role) {
+        collectionFetches++;
+        lazyLoadsByAssociation.merge(role, 1, Integer::sum);
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+
+    public int getLazyInitializations() {
+        return lazyInitializations;
+    }
+
+    public int getCollectionFetches() {
+        return collectionFetches;
+    }
+
+    /**
+     * The association (entity proxy or collection role) initialized lazily most often, if that happened at
+     * least {@code threshold} times.
+     */
+    public Optional<Map.Entry<String, Integer>> mostLazyLoaded(int threshold) {
+        return mostFrequent(lazyLoadsByAssociation, threshold);
+    }
+
+    /**
+     * The statement run most often, if it was run at least {@code threshold} times. Parameters are bound, so
+     * the same statement for different rows has the same text.
+     */
+    public Optional<Map.Entry<String, Integer>> mostRepeated(int threshold) {
+        return mostFrequent(statementCounts, threshold);
+    }
+
+    private static Optional<Map.Entry<String, Integer>> mostFrequent(Map<String, Integer> counts, int threshold) {
+        return counts.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .max(Map.Entry.comparingByValue());
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statements, " + entitiesLoaded + " entities loaded, " + lazyInitializations
+                + " lazy initializations, " + collectionFetches + " collection fetches";
+    }
+}
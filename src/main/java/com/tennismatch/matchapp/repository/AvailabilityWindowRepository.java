@@ -0,0 +1,35 @@
+package com.tennismatch.matchapp.repository;
+
+import com.tennismatch.matchapp.matching.AvailabilitySlot;
+import com.tennismatch.matchapp.model.AvailabilityStatus;
+import com.tennismatch.matchapp.model.AvailabilityWindow;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AvailabilityWindowRepository extends JpaRepository<AvailabilityWindow, Long> {
+
+    List<AvailabilityWindow> findByUserIdAndStatusOrderByStartTime(Long userId, AvailabilityStatus status);
+
+    @Query("select count(w) > 0 from AvailabilityWindow w where w.user.id = :userId and w.status = :status"
+            + " and w.startTime < :end and w.endTime > :start")
+    boolean existsOverlapping(@Param("userId") Long userId, @Param("status") AvailabilityStatus status,
+                              @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // Constructor projection: the matcher needs hundreds of thousands of rows, not managed entities
+    @Query("select new com.tennismatch.matchapp.matching.AvailabilitySlot(w.id, w.user.id, w.town, w.ntrpLevel, w.startTime, w.endTime)"
+            + " from AvailabilityWindow w where w.status = :status and w.startTime >= :from")
+    List<AvailabilitySlot> findSlots(@Param("status") AvailabilityStatus status, @Param("from") LocalDateTime from);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select w from AvailabilityWindow w join fetch w.user where w.id in :ids")
+    List<AvailabilityWindow> findForUpdateByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,124 @@
+package com.tennismatch.matchapp.repository;
+
+import com.tennismatch.matchapp.dto.MatchCursor;
+import com.tennismatch.matchapp.dto.MatchResponse;
+import com.tennismatch.matchapp.dto.MatchTimeframe;
+import com.tennismatch.matchapp.model.MatchStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Pages of a player's match history, read as flat rows with one query per page and table set.
+ * <p>
+ * Each query is the union of the matches the player proposed and the matches they requested. Each branch
+ * filters on its own player column, so it can use that column's index, and the union is ordered and cut
+ * to the page in the database. Pages continue from a {@link MatchCursor} (keyset pagination), so a page
+ * costs the same however long the history is. Players and proposal are selected as columns, so no entity
+ * is loaded or initialized lazily.
+ */
+@Repository
+public class MatchHistoryRepository {
+
+    private static final Source HOT = new Source(
+            "select m.id as id, p.id as proposalId, pu.id as proposerId, pu.firstName as proposerFirstName,"
+                    + " pu.lastName as proposerLastName, ru.id as requesterId, ru.firstName as requesterFirstName,"
+                    + " ru.lastName as requesterLastName, m.status as status, p.proposedStartTime as startTime,"
+                    + " p.locationDetails as locationDetails, m.createdAt as createdAt"
+                    + " from Match m join m.playProposal p join p.proposingUser pu join m.requestingUser ru",
+            "p.proposingUser.id", "m.requestingUser.id", "p.proposedStartTime", "m.id", false);
+
+    // Archived rows keep plain user ids; the users table is present on every shard
+    private static final Source ARCHIVE = new Source(
+            "select a.id as id, a.proposalId as proposalId, pu.id as proposerId, pu.firstName as proposerFirstName,"
+                    + " pu.lastName as proposerLastName, ru.id as requesterId, ru.firstName as requesterFirstName,"
+                    + " ru.lastName as requesterLastName, a.status as status, a.proposedStartTime as startTime,"
+                    + " ap.locationDetails as locationDetails, a.createdAt as createdAt"
+                    + " from ArchivedMatch a join ArchivedProposal ap on ap.id = a.proposalId"
+                    + " join User pu on pu.id = a.proposerId join User ru on ru.id = a.requesterId",
+            "a.proposerId", "a.requesterId", "a.proposedStartTime", "a.id", true);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Matches from the hot tables, in {@link MatchTimeframe#order()}.
+     */
+    public List<MatchResponse> findPage(Long userId, MatchTimeframe timeframe, MatchCursor after, int limit,
+                                        LocalDateTime now) {
+        return page(HOT, userId, timeframe, after, limit, now);
+    }
+
+    /**
+     * Matches from the archive tables, in {@link MatchTimeframe#order()}.
+     */
+    public List<MatchResponse> findArchivedPage(Long userId, MatchTimeframe timeframe, MatchCursor after, int limit,
+                                                LocalDateTime now) {
+        return page(ARCHIVE, userId, timeframe, after, limit, now);
+    }
+
+    private List<MatchResponse> page(Source source, Long userId, MatchTimeframe timeframe, MatchCursor after,
+                                     int limit, LocalDateTime now) {
+        String direction = timeframe.isAscending() ? "asc" : "desc";
+        String hql = source.branch(source.proposerColumn(), timeframe, after)
+                + " union all " + source.branch(source.requesterColumn(), timeframe, after)
+                + " order by startTime " + direction + ", id " + direction;
+        TypedQuery<Tuple> query = entityManager.createQuery(hql, Tuple.class)
+                .setParameter("userId", userId)
+                .setMaxResults(limit);
+        if (timeframe != MatchTimeframe.ALL) {
+            query.setParameter("now", now);
+        }
+        if (after != null) {
+            query.setParameter("cursorStart", after.proposedStartTime());
+            query.setParameter("cursorId", after.id());
+        }
+        return query.getResultStream()
+                .map(row -> toResponse(row, source.archived()))
+                .toList();
+    }
+
+    private static MatchResponse toResponse(Tuple row, boolean archived) {
+        return MatchResponse.builder()
+                .id(row.get("id", Long.class))
+                .proposalId(row.get("proposalId", Long.class))
+                .proposingUserId(row.get("proposerId", Long.class))
+                .proposingUserName(MatchResponse.displayName(
+                        row.get("proposerFirstName", String.class), row.get("proposerLastName", String.class)))
+                .requestingUserId(row.get("requesterId", Long.class))
+                .requestingUserName(MatchResponse.displayName(
+                        row.get("requesterFirstName", String.class), row.get("requesterLastName", String.class)))
+                .status(row.get("status", MatchStatus.class))
+                .proposedStartTime(row.get("startTime", LocalDateTime.class))
+                .locationDetails(row.get("locationDetails", String.class))
+                .createdAt(row.get("createdAt", LocalDateTime.class))
+                .archived(archived)
+                .build();
+    }
+
+    private record Source(String select, String proposerColumn, String requesterColumn,
+                          String startColumn, String idColumn, boolean archived) {
+
+        String branch(String playerColumn, MatchTimeframe timeframe, MatchCursor after) {
+            StringBuilder branch = new StringBuilder(select)
+                    .append(" where ").append(playerColumn).append(" = :userId");
+            if (timeframe == MatchTimeframe.UPCOMING) {
+                branch.append(" and ").append(startColumn).append(" >= :now");
+            } else if (timeframe == MatchTimeframe.PAST) {
+                branch.append(" and ").append(startColumn).append(" < :now");
+            }
+            if (after != null) {
+                String beyond = timeframe.isAscending() ? " > " : " < ";
+                branch.append(" and (").append(startColumn).append(beyond).append(":cursorStart")
+                        .append(" or (").append(startColumn).append(" = :cursorStart and ")
+                        .append(idColumn).append(beyond).append(":cursorId))");
+            }
+            return branch.toString();
+        }
+    }
+}
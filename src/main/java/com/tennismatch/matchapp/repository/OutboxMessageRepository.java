@@ -0,0 +1,42 @@
+package com.tennismatch.matchapp.repository;
+
+import com.tennismatch.matchapp.model.OutboxMessage;
+import com.tennismatch.matchapp.model.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    // Lock timeout -2 is Hibernate's SKIP LOCKED: concurrent dispatchers claim disjoint batches
+    // instead of queueing behind each other (plain FOR UPDATE on databases without SKIP LOCKED)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select m from OutboxMessage m where m.status = :status and m.nextAttemptAt <= :now order by m.id")
+    List<OutboxMessage> findDueForUpdate(@Param("status") OutboxStatus status,
+                                         @Param("now") LocalDateTime now,
+                                         Pageable pageable);
+
+    @Modifying
+    @Query("update OutboxMessage m set m.status = :status, m.sentAt = :sentAt, m.attempts = m.attempts + 1 where m.id in :ids")
+    int markSent(@Param("ids") List<Long> ids,
+                 @Param("status") OutboxStatus status,
+                 @Param("sentAt") LocalDateTime sentAt);
+
+    long countByStatus(OutboxStatus status);
+
+    @Query("select min(m.createdAt) from OutboxMessage m where m.status = :status")
+    Optional<LocalDateTime> findOldestCreatedAt(@Param("status") OutboxStatus status);
+}
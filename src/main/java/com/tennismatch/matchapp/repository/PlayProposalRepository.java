@@ -1,12 +1,79 @@
 package com.tennismatch.matchapp.repository;
 
+import com.tennismatch.matchapp.cache.ListVersion;
+import com.tennismatch.matchapp.calendar.CalendarCount;
+import com.tennismatch.matchapp.model.NtrpLevel;
 import com.tennismatch.matchapp.model.PlayProposal;
+import com.tennismatch.matchapp.model.ProposalStatus;
+import com.tennismatch.matchapp.search.IndexedProposal;
+import com.tennismatch.matchapp.stats.ProposalCount;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PlayProposalRepository extends JpaRepository<PlayProposal, Long> {
     List<PlayProposal> findByProposingUserId(Long userId);
-} 
\ No newline at end of file
+
+    @Query("select p from PlayProposal p join fetch p.proposingUser where p.id = :id")
+    Optional<PlayProposal> findWithProposerById(@Param("id") Long id);
+
+    @Query("select p from PlayProposal p join fetch p.proposingUser where p.id in :ids")
+    List<PlayProposal> findWithProposerByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Serializes concurrent accept/cancel calls on the same proposal
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from PlayProposal p join fetch p.proposingUser where p.id = :id")
+    Optional<PlayProposal> findForUpdateById(@Param("id") Long id);
+
+    @Query("select p from PlayProposal p join fetch p.proposingUser u"
+            + " where p.status = :status and lower(trim(u.homeTown)) = :town"
+            + " and (:level is null or u.ntrpLevel = :level)"
+            + " order by p.proposedStartTime, p.id")
+    List<PlayProposal> search(@Param("status") ProposalStatus status,
+                              @Param("town") String town,
+                              @Param("level") NtrpLevel level);
+
+    // Same filter as search; the listed proposals embed proposer details, so their updates count too
+    @Query("select new com.tennismatch.matchapp.cache.ListVersion(count(p), max(p.updatedAt), max(u.updatedAt))"
+            + " from PlayProposal p join p.proposingUser u"
+            + " where p.status = :status and lower(trim(u.homeTown)) = :town"
+            + " and (:level is null or u.ntrpLevel = :level)")
+    ListVersion findListVersion(@Param("status") ProposalStatus status,
+                                @Param("town") String town,
+                                @Param("level") NtrpLevel level);
+
+    // The response embeds proposer details, so the version covers both rows
+    @Query("select case when p.updatedAt > u.updatedAt then p.updatedAt else u.updatedAt end"
+            + " from PlayProposal p join p.proposingUser u where p.id = :id")
+    Optional<LocalDateTime> findVersionById(@Param("id") Long id);
+
+    @Query("select new com.tennismatch.matchapp.search.IndexedProposal(p.id, u.homeTown, u.ntrpLevel, p.status,"
+            + " p.updatedAt, p.locationDetails, p.notes)"
+            + " from PlayProposal p join p.proposingUser u where p.status = :status")
+    List<IndexedProposal> findIndexedByStatus(@Param("status") ProposalStatus status);
+
+    @Query("select new com.tennismatch.matchapp.search.IndexedProposal(p.id, u.homeTown, u.ntrpLevel, p.status,"
+            + " p.updatedAt, p.locationDetails, p.notes)"
+            + " from PlayProposal p join p.proposingUser u where p.updatedAt >= :since")
+    List<IndexedProposal> findIndexedChangedSince(@Param("since") LocalDateTime since);
+
+    @Query("select new com.tennismatch.matchapp.stats.ProposalCount(u.homeTown, u.ntrpLevel, p.status, count(p))"
+            + " from PlayProposal p join p.proposingUser u where p.status in :statuses"
+            + " group by u.homeTown, u.ntrpLevel, p.status")
+    List<ProposalCount> countByTownAndLevel(@Param("statuses") Collection<ProposalStatus> statuses);
+
+    @Query("select new com.tennismatch.matchapp.calendar.CalendarCount(u.homeTown, u.ntrpLevel,"
+            + " cast(p.proposedStartTime as LocalDate), extract(hour from p.proposedStartTime), count(p))"
+            + " from PlayProposal p join p.proposingUser u where p.status = :status and p.proposedStartTime >= :from"
+            + " group by u.homeTown, u.ntrpLevel, cast(p.proposedStartTime as LocalDate), extract(hour from p.proposedStartTime)")
+    List<CalendarCount> countCalendar(@Param("status") ProposalStatus status, @Param("from") LocalDateTime from);
+}
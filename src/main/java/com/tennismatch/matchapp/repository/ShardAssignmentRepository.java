@@ -0,0 +1,9 @@
+package com.tennismatch.matchapp.repository;
+
+import com.tennismatch.matchapp.model.ShardAssignment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ShardAssignmentRepository extends JpaRepository<ShardAssignment, String> {
+}
@@ -1,9 +1,14 @@
 package com.tennismatch.matchapp.repository;
 
 import com.tennismatch.matchapp.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -13,7 +18,20 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Boolean existsByEmail(String email);
 
+    // Serializes changes to one user's availability windows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u from User u where u.email = :email")
+    Optional<User> findForUpdateByEmail(@Param("email") String email);
+
+    // Version lookup for conditional GETs; avoids loading the entity and its roles
+    @Query("select u.updatedAt from User u where u.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    // Shard key lookup, done before the sharded transaction starts
+    @Query("select u.homeTown from User u where u.email = :email")
+    Optional<String> findHomeTownByEmail(@Param("email") String email);
+
     // We might need findByUsername if we re-introduce username, but email is primary for now
     // Optional<User> findByUsername(String username);
     // Boolean existsByUsername(String username);
-} 
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+package com.tennismatch.matchapp.search;
+
+import com.tennismatch.matchapp.model.NtrpLevel;
+import com.tennismatch.matchapp.model.ProposalStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * The parts of a proposal the text index needs, loaded with a constructor projection.
+ */
+public record IndexedProposal(Long id, String town, NtrpLevel level, ProposalStatus status,
+                              LocalDateTime updatedAt, String locationDetails, String notes) {
+}
@@ -0,0 +1,106 @@
+package com.tennismatch.matchapp.search;
+
+import com.tennismatch.matchapp.event.ProposalLifecycleEvent;
+import com.tennismatch.matchapp.model.ProposalStatus;
+import com.tennismatch.matchapp.repository.PlayProposalRepository;
+import com.tennismatch.matchapp.sharding.ShardQueries;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps {@link ProposalTextIndex} in line with the database.
+ * <p>
+ * Open proposals of every shard are loaded at startup. Afterwards, changes made by this instance are
+ * applied from {@link ProposalLifecycleEvent}s after commit, and a periodic pass reads the proposals
+ * changed since the previous one (minus {@link SearchProperties#syncOverlap()}) to pick up changes made
+ * by other instances. The index may therefore briefly list a proposal that is no longer open; search
+ * results are re-checked against the database.
+ * <p>
+ * Exports {@code search.index.documents}, {@code search.index.terms}, {@code search.index.bytes} and
+ * {@code search.index.bytes.per.document}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@EnableConfigurationProperties(SearchProperties.class)
+public class ProposalIndexSync implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ProposalIndexSync.class);
+
+    private final ProposalTextIndex index;
+    private final PlayProposalRepository playProposalRepository;
+    private final ShardQueries shardQueries;
+    private final SearchProperties properties;
+    private volatile LocalDateTime lastSync;
+
+    public ProposalIndexSync(ProposalTextIndex index,
+                             PlayProposalRepository playProposalRepository,
+                             ShardQueries shardQueries,
+                             SearchProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.index = index;
+        this.playProposalRepository = playProposalRepository;
+        this.shardQueries = shardQueries;
+        this.properties = properties;
+        Gauge.builder("search.index.documents", index, ProposalTextIndex::size)
+                .description("Open proposals in the text index")
+                .register(meterRegistry);
+        Gauge.builder("search.index.terms", index, ProposalTextIndex::termCount)
+                .description("Words and prefixes in the text index dictionary")
+                .register(meterRegistry);
+        Gauge.builder("search.index.bytes", index, ProposalTextIndex::estimatedBytes)
+                .description("Estimated heap used by the text index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("search.index.bytes.per.document", index,
+                        i -> (double) i.estimatedBytes() / Math.max(1, i.size()))
+                .description("Estimated heap used by the text index per indexed proposal")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        LocalDateTime started = LocalDateTime.now();
+        List<IndexedProposal> open = shardQueries.scatter(() -> playProposalRepository.findIndexedByStatus(ProposalStatus.OPEN));
+        open.forEach(index::upsert);
+        lastSync = started;
+        log.info("Indexed {} open proposals, about {} bytes each", index.size(),
+                index.estimatedBytes() / Math.max(1, index.size()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProposalChanged(ProposalLifecycleEvent event) {
+        // Versioned by publishedAt, so older rows a sync reads later (e.g. from a replica) cannot undo the
+        // change, while the committed row and later changes of other instances still apply
+        index.upsert(new IndexedProposal(event.proposalId(), event.town(), event.level(), event.status(),
+                event.publishedAt(), event.locationDetails(), event.notes()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.sync-interval:PT5S}", initialDelayString = "${app.search.sync-interval:PT5S}")
+    public void syncChanges() {
+        LocalDateTime since = lastSync;
+        if (since == null) {
+            // Initial load not done yet
+            return;
+        }
+        LocalDateTime started = LocalDateTime.now();
+        LocalDateTime from = since.minus(properties.syncOverlap());
+        shardQueries.scatter(() -> playProposalRepository.findIndexedChangedSince(from)).forEach(index::upsert);
+        // Later passes only read rows changed from here on, which are newer than anything forgotten
+        index.forgetRemovedBefore(from);
+        lastSync = started;
+    }
+}
@@ -0,0 +1,402 @@
+package com.tennismatch.matchapp.search;
+
+import com.tennismatch.matchapp.model.NtrpLevel;
+import com.tennismatch.matchapp.model.ProposalStatus;
+import com.tennismatch.matchapp.model.Towns;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the location and notes of open proposals.
+ * <p>
+ * Searches are always scoped to a town, so the index is partitioned by town and a query only touches
+ * the postings of one. Within a partition every indexed proposal gets a document number, assigned in
+ * increasing order, so posting lists are appended to and stay sorted; a query intersects the lists of
+ * its terms with a linear merge, rarest term first. Besides its terms, each document is posted under the
+ * prefixes of its terms (edge n-grams of {@value #MIN_PREFIX} to {@value #MAX_PREFIX} characters), so
+ * "jor" finds "Jordana" without scanning the dictionary. Scores add up, per query term, the term's
+ * weight in the document (location counts more than notes, a prefix hit less than a whole word) times
+ * its inverse document frequency.
+ * <p>
+ * Only open proposals are indexed: a proposal that is matched or cancelled is removed. The last
+ * {@link IndexedProposal#updatedAt()} applied is remembered per proposal, removed ones included, so an
+ * older version read later (e.g. from a lagging replica) cannot bring a proposal back. Removal only
+ * clears a live bit; once dead documents outnumber live ones, the partition's lists are compacted and
+ * its documents renumbered. Reads run concurrently under a read lock, changes take the write lock.
+ */
+@Component
+public class ProposalTextIndex {
+
+    static final int MIN_PREFIX = 2;
+    static final int MAX_PREFIX = 12;
+
+    private static final float LOCATION_WEIGHT = 2.0f;
+    private static final float NOTES_WEIGHT = 1.0f;
+    private static final float PREFIX_FACTOR = 0.5f;
+    // Prefix entries share the dictionary with whole words; no normalized term contains this character
+    private static final char PREFIX_MARK = '\u0001';
+    private static final int MIN_COMPACTION = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Partition> partitions = new HashMap<>();
+    private final Map<Long, Partition> partitionOf = new HashMap<>();
+    private final Map<Long, LocalDateTime> versions = new HashMap<>();
+
+    /**
+     * Indexes an open proposal, replacing an earlier version of it; any other status removes it. A version
+     * older than the last one applied for the proposal is ignored; one without {@code updatedAt} always applies.
+     */
+    public void upsert(IndexedProposal proposal) {
+        Map<String, Float> weights = null;
+        if (proposal.status() == ProposalStatus.OPEN) {
+            weights = new HashMap<>();
+            addField(weights, proposal.locationDetails(), LOCATION_WEIGHT);
+            addField(weights, proposal.notes(), NOTES_WEIGHT);
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (proposal.updatedAt() != null) {
+                LocalDateTime applied = versions.get(proposal.id());
+                if (applied != null && proposal.updatedAt().isBefore(applied)) {
+                    return;
+                }
+                versions.put(proposal.id(), proposal.updatedAt());
+            }
+            removeLocked(proposal.id());
+            if (weights != null) {
+                Partition partition = partitions.computeIfAbsent(Towns.key(proposal.town()), town -> new Partition());
+                partition.add(proposal.id(), proposal.level(), weights);
+                partitionOf.put(proposal.id(), partition);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forgets the versions of removed proposals last changed before the cutoff. Only do so once no read
+     * can return a version that old any more.
+     */
+    public void forgetRemovedBefore(LocalDateTime cutoff) {
+        lock.writeLock().lock();
+        try {
+            versions.entrySet().removeIf(entry -> !partitionOf.containsKey(entry.getKey())
+                    && entry.getValue().isBefore(cutoff));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long proposalId) {
+        lock.writeLock().lock();
+        try {
+            versions.remove(proposalId);
+            removeLocked(proposalId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks the open proposals of a town matching every term of the query.
+     * @param query free text; the last word may be incomplete
+     * @param town  home town of the proposing users
+     * @param level NTRP level filter, or {@code null}
+     * @param limit maximum number of ids returned
+     * @return proposal ids, best match first
+     */
+    public List<Long> search(String query, String town, NtrpLevel level, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(TextNormalizer.terms(query)));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String townKey = Towns.key(town);
+        lock.readLock().lock();
+        try {
+            Partition partition = partitions.get(townKey);
+            return partition != null ? partition.search(terms, level, limit) : List.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of changes made to a town's proposals in the index. Text search results for the town can only
+     * change when this does, or when the proposals found change in the database.
+     */
+    public long changeCount(String town) {
+        lock.readLock().lock();
+        try {
+            Partition partition = partitions.get(Towns.key(town));
+            return partition != null ? partition.changes : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return partitionOf.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return partitions.values().stream().mapToInt(partition -> partition.dictionary.size()).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rough heap footprint of the index in bytes, counting arrays, strings and map entries with the
+     * usual 64-bit compressed-oops sizes.
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            // Entry of the id -> partition map, with the boxed id, and of the versions map with its timestamp
+            long bytes = partitionOf.size() * 48L + versions.size() * 96L;
+            for (Partition partition : partitions.values()) {
+                bytes += partition.estimatedBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(long proposalId) {
+        Partition partition = partitionOf.remove(proposalId);
+        if (partition != null) {
+            partition.remove(proposalId);
+        }
+    }
+
+    private static void addField(Map<String, Float> weights, String text, float weight) {
+        for (String term : TextNormalizer.terms(text)) {
+            weights.merge(term, weight, Float::sum);
+            for (int length = MIN_PREFIX; length < term.length() && length <= MAX_PREFIX; length++) {
+                weights.merge(PREFIX_MARK + term.substring(0, length), weight * PREFIX_FACTOR, Float::sum);
+            }
+        }
+    }
+
+    /** Proposals of one town. */
+    private static final class Partition {
+        private final Map<String, Postings> dictionary = new HashMap<>();
+        private final Map<Long, Integer> documents = new HashMap<>();
+        private final BitSet live = new BitSet();
+        private long[] proposalIds = new long[16];
+        private byte[] levels = new byte[16];
+        private int nextDocument;
+        private long changes;
+
+        void add(long proposalId, NtrpLevel level, Map<String, Float> weights) {
+            int document = nextDocument++;
+            if (document == proposalIds.length) {
+                proposalIds = Arrays.copyOf(proposalIds, document * 2);
+                levels = Arrays.copyOf(levels, document * 2);
+            }
+            proposalIds[document] = proposalId;
+            levels[document] = (byte) level.ordinal();
+            weights.forEach((key, weight) -> dictionary.computeIfAbsent(key, k -> new Postings()).add(document, weight));
+            documents.put(proposalId, document);
+            live.set(document);
+            changes++;
+        }
+
+        void remove(long proposalId) {
+            Integer document = documents.remove(proposalId);
+            if (document != null) {
+                live.clear(document);
+                changes++;
+                if (nextDocument - documents.size() > Math.max(MIN_COMPACTION, documents.size())) {
+                    compact();
+                }
+            }
+        }
+
+        List<Long> search(List<String> terms, NtrpLevel level, int limit) {
+            List<Candidates> perTerm = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Candidates candidates = candidates(term);
+                if (candidates.size == 0) {
+                    return List.of();
+                }
+                perTerm.add(candidates);
+            }
+            perTerm.sort(Comparator.comparingInt(candidates -> candidates.size));
+            Candidates matches = perTerm.get(0);
+            for (int i = 1; i < perTerm.size() && matches.size > 0; i++) {
+                matches = matches.intersect(perTerm.get(i));
+            }
+            return top(matches, level, limit);
+        }
+
+        private Candidates candidates(String term) {
+            Postings exact = dictionary.get(term);
+            Postings prefix = term.length() >= MIN_PREFIX
+                    ? dictionary.get(PREFIX_MARK + term.substring(0, Math.min(term.length(), MAX_PREFIX)))
+                    : null;
+            Candidates merged = Candidates.union(exact, prefix);
+            float idf = (float) Math.log(1 + (double) Math.max(documents.size(), 1) / Math.max(merged.size, 1));
+            for (int i = 0; i < merged.size; i++) {
+                merged.scores[i] *= idf;
+            }
+            return merged;
+        }
+
+        private List<Long> top(Candidates matches, NtrpLevel level, int limit) {
+            PriorityQueue<Integer> best = new PriorityQueue<>(Comparator.comparingDouble(i -> matches.scores[i]));
+            for (int i = 0; i < matches.size; i++) {
+                int document = matches.docs[i];
+                if (!live.get(document) || (level != null && levels[document] != level.ordinal())) {
+                    continue;
+                }
+                if (best.size() < limit) {
+                    best.add(i);
+                } else if (matches.scores[i] > matches.scores[best.peek()]) {
+                    best.poll();
+                    best.add(i);
+                }
+            }
+            List<Integer> ranked = new ArrayList<>(best);
+            ranked.sort(Comparator.comparingDouble((Integer i) -> matches.scores[i]).reversed()
+                    .thenComparingInt(i -> matches.docs[i]));
+            return ranked.stream().map(i -> proposalIds[matches.docs[i]]).toList();
+        }
+
+        private void compact() {
+            int[] renumbered = new int[nextDocument];
+            int next = 0;
+            for (int document = 0; document < nextDocument; document++) {
+                renumbered[document] = live.get(document) ? next++ : -1;
+            }
+            dictionary.values().removeIf(postings -> postings.retain(renumbered) == 0);
+            for (int document = 0; document < nextDocument; document++) {
+                int target = renumbered[document];
+                if (target >= 0) {
+                    proposalIds[target] = proposalIds[document];
+                    levels[target] = levels[document];
+                }
+            }
+            documents.replaceAll((proposalId, document) -> renumbered[document]);
+            live.clear();
+            live.set(0, next);
+            nextDocument = next;
+        }
+
+        long estimatedBytes() {
+            long bytes = 0;
+            for (Map.Entry<String, Postings> entry : dictionary.entrySet()) {
+                // Map node, key string and the postings object with its two arrays
+                bytes += 32 + 40 + entry.getKey().length() + 16 + 2 * (16 + 4L * entry.getValue().docs.length);
+            }
+            // Document map entries with boxed keys and values, per-document arrays and live bits
+            return bytes + documents.size() * 64L + proposalIds.length * 9L + nextDocument / 8;
+        }
+    }
+
+    /** Documents posted under one dictionary key, in increasing document order. */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        void add(int document, float weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = document;
+            weights[size] = weight;
+            size++;
+        }
+
+        int retain(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int target = renumbered[docs[i]];
+                if (target >= 0) {
+                    docs[kept] = target;
+                    weights[kept] = weights[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+
+    /** Scored documents of a query, in increasing document order. */
+    private static final class Candidates {
+        private final int[] docs;
+        private final float[] scores;
+        private int size;
+
+        private Candidates(int capacity) {
+            docs = new int[capacity];
+            scores = new float[capacity];
+        }
+
+        /** Documents in either list; a document in both keeps the higher weight. */
+        static Candidates union(Postings a, Postings b) {
+            int sizeA = a != null ? a.size : 0;
+            int sizeB = b != null ? b.size : 0;
+            Candidates result = new Candidates(sizeA + sizeB);
+            int i = 0;
+            int j = 0;
+            while (i < sizeA || j < sizeB) {
+                if (j >= sizeB || (i < sizeA && a.docs[i] < b.docs[j])) {
+                    result.append(a.docs[i], a.weights[i++]);
+                } else if (i >= sizeA || b.docs[j] < a.docs[i]) {
+                    result.append(b.docs[j], b.weights[j++]);
+                } else {
+                    result.append(a.docs[i], Math.max(a.weights[i++], b.weights[j++]));
+                }
+            }
+            return result;
+        }
+
+        /** Documents in both, with their scores added up. */
+        Candidates intersect(Candidates other) {
+            Candidates result = new Candidates(Math.min(size, other.size));
+            int i = 0;
+            int j = 0;
+            while (i < size && j < other.size) {
+                if (docs[i] < other.docs[j]) {
+                    i++;
+                } else if (docs[i] > other.docs[j]) {
+                    j++;
+                } else {
+                    result.append(docs[i], scores[i++] + other.scores[j++]);
+                }
+            }
+            return result;
+        }
+
+        private void append(int document, float score) {
+            docs[size] = document;
+            scores[size] = score;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.tennismatch.matchapp.search;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Synchronization of the proposal text index.
+ *
+ * @param syncOverlap how far before the previous sync the next one starts reading changes, covering
+ *                    replica lag and transactions that committed late with an earlier timestamp
+ */
+@ConfigurationProperties(prefix = "app.search")
+public record SearchProperties(
+        @DefaultValue("10s") Duration syncOverlap) {
+}
@@ -0,0 +1,68 @@
+package com.tennismatch.matchapp.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Turns proposal text and queries into index terms: lower case, accents removed, split on anything that
+ * is not a letter or digit, a few stop words dropped and court/park words reduced to a common stem, so
+ * "Korty w Parku Jordana" and "park jordana courts" share the terms {@code court}, {@code park} and
+ * {@code jordana}.
+ */
+public final class TextNormalizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "at", "by", "for", "in", "of", "on", "or", "the", "to", "i", "na", "w", "we", "z");
+
+    // Court and park names as they appear in English and Polish listings
+    private static final Map<String, String> STEMS = Map.ofEntries(
+            Map.entry("ct", "court"), Map.entry("courts", "court"),
+            Map.entry("kort", "court"), Map.entry("korty", "court"), Map.entry("kortu", "court"),
+            Map.entry("kortach", "court"), Map.entry("kortow", "court"), Map.entry("korcie", "court"),
+            Map.entry("pk", "park"), Map.entry("parks", "park"), Map.entry("parku", "park"),
+            Map.entry("parkach", "park"), Map.entry("parkow", "park"),
+            Map.entry("tenis", "tennis"), Map.entry("tenisowe", "tennis"), Map.entry("tenisowy", "tennis"));
+
+    private TextNormalizer() {
+    }
+
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        for (String token : SEPARATORS.split(fold(text))) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                terms.add(stem(token));
+            }
+        }
+        return terms;
+    }
+
+    static String fold(String text) {
+        String decomposed = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        // Letters that carry their "accent" as a separate code point, so NFD leaves them alone
+        return stripped.replace('\u0142', 'l').replace('\u00f8', 'o').replace('\u0111', 'd').replace("\u00df", "ss");
+    }
+
+    static String stem(String token) {
+        String stem = STEMS.get(token);
+        if (stem != null) {
+            return stem;
+        }
+        // Plain English plurals; "tennis" and "ss" endings are not plurals
+        if (token.length() > 4 && token.endsWith("s") && !token.endsWith("ss") && !token.endsWith("is")) {
+            return token.substring(0, token.length() - 1);
+        }
+        return token;
+    }
+}
@@ -2,6 +2,8 @@ package com.tennismatch.matchapp.security;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -29,8 +31,14 @@ public class SecurityConfig {
                 .requestMatchers("/h2-console/**").permitAll() // Allow H2 console
                 .requestMatchers(PathRequest.toStaticResources().atCommonLocations()).permitAll() // Allow static resources
                 .requestMatchers("/actuator/**").permitAll() // Allow actuator endpoints
+                .requestMatchers("/api/auth/**").permitAll()
+                .requestMatchers("/api/availability/**").authenticated() // Availability is private to its owner
+                .requestMatchers("/api/matches/**").authenticated() // So are a player's matches
+                .requestMatchers(HttpMethod.GET, "/api/**").permitAll() // Profiles and proposals are publicly readable
+                .requestMatchers("/api/**").authenticated() // Writes act on behalf of the caller
                 .anyRequest().permitAll() // Allow all other requests for now
             )
+            .httpBasic(Customizer.withDefaults()) // Until JWT login lands, callers authenticate with email/password
             // For H2 console to work with Spring Security, headers need to be configured
             .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.sameOrigin())); 
 
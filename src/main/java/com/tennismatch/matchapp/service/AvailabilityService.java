@@ -0,0 +1,54 @@
+package com.tennismatch.matchapp.service;
+
+import com.tennismatch.matchapp.dto.AvailabilityRequest;
+import com.tennismatch.matchapp.matching.AvailabilitySlot;
+import com.tennismatch.matchapp.matching.SuggestedPairing;
+import com.tennismatch.matchapp.model.AvailabilityWindow;
+import com.tennismatch.matchapp.model.Match;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface AvailabilityService {
+
+    /**
+     * Posts an open availability window for the given user, in the user's home town and at their level.
+     * A window overlapping one of the user's open windows is rejected.
+     * @param userEmail email of the authenticated user
+     * @param request the window
+     * @return the saved window
+     */
+    AvailabilityWindow addWindow(String userEmail, AvailabilityRequest request);
+
+    /**
+     * Lists the user's open windows.
+     * @param userEmail email of the authenticated user
+     * @return open windows ordered by start time
+     */
+    List<AvailabilityWindow> findOpenWindows(String userEmail);
+
+    /**
+     * Withdraws an open window owned by the given user.
+     * @param windowId the window to withdraw
+     * @param userEmail email of the authenticated user
+     * @return the withdrawn window
+     */
+    AvailabilityWindow withdrawWindow(Long windowId, String userEmail);
+
+    /**
+     * Loads all open windows starting at or after the given time, as lightweight slots for the matcher.
+     * @param from earliest start time
+     * @return the open slots
+     */
+    List<AvailabilitySlot> findMatchableSlots(LocalDateTime from);
+
+    /**
+     * Turns a pairing found by the matcher into a matched proposal with an accepted match, provided both
+     * windows are still open. Pairings are computed outside any transaction, so a window may have been
+     * withdrawn or matched in the meantime.
+     * @param pairing the suggested pairing
+     * @return the suggested match, or empty if the pairing is stale
+     */
+    Optional<Match> applySuggestion(SuggestedPairing pairing);
+}
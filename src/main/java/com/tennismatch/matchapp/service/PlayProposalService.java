@@ -0,0 +1,101 @@
+package com.tennismatch.matchapp.service;
+
+import com.tennismatch.matchapp.cache.ListVersion;
+import com.tennismatch.matchapp.dto.CreateProposalRequest;
+import com.tennismatch.matchapp.dto.MatchCursor;
+import com.tennismatch.matchapp.dto.MatchResponse;
+import com.tennismatch.matchapp.dto.MatchTimeframe;
+import com.tennismatch.matchapp.dto.UpdateProposalRequest;
+import com.tennismatch.matchapp.model.Match;
+import com.tennismatch.matchapp.model.NtrpLevel;
+import com.tennismatch.matchapp.model.PlayProposal;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface PlayProposalService {
+
+    /**
+     * Creates an open proposal on behalf of the given user.
+     * @param proposerEmail email of the authenticated proposing user
+     * @param request the proposal details
+     * @return the saved proposal
+     */
+    PlayProposal createProposal(String proposerEmail, CreateProposalRequest request);
+
+    /**
+     * Finds a proposal with its proposing user fetched.
+     * @param id the proposal id
+     * @return an Optional containing the proposal if found
+     */
+    Optional<PlayProposal> findById(Long id);
+
+    /**
+     * Returns the version of a proposal (including its proposer) without loading the entities.
+     * @param id the proposal id
+     * @return an Optional containing the version if the proposal exists
+     */
+    Optional<LocalDateTime> findVersion(Long id);
+
+    /**
+     * Returns the version of the open proposal list of a town without loading the proposals.
+     * @param town home town of the proposing users
+     * @param level NTRP level filter, or {@code null} for all levels
+     * @return the version, the same on every instance
+     */
+    ListVersion findListVersion(String town, NtrpLevel level);
+
+    /**
+     * Lists open proposals in a town, optionally narrowed to the proposer's NTRP level.
+     * @param town home town of the proposing users
+     * @param level NTRP level filter, or {@code null} for all levels
+     * @return matching proposals ordered by start time
+     */
+    List<PlayProposal> findOpenProposals(String town, NtrpLevel level);
+
+    /**
+     * Full-text search over the location and notes of open proposals in a town.
+     * @param town home town of the proposing users
+     * @param level NTRP level filter, or {@code null} for all levels
+     * @param text words to match; the last one may be a prefix
+     * @param limit maximum number of proposals returned
+     * @return matching proposals, best match first
+     */
+    List<PlayProposal> searchOpenProposals(String town, NtrpLevel level, String text, int limit);
+
+    /**
+     * Edits the time, location or notes of an open proposal owned by the given user.
+     * @param proposalId the proposal to edit
+     * @param proposerEmail email of the authenticated proposing user
+     * @param request the new values; null fields are left unchanged
+     * @return the updated proposal
+     */
+    PlayProposal updateProposal(Long proposalId, String proposerEmail, UpdateProposalRequest request);
+
+    /**
+     * Accepts an open proposal, creating the match and closing the proposal.
+     * @param proposalId the proposal to accept
+     * @param requesterEmail email of the authenticated accepting user
+     * @return the created match
+     */
+    Match acceptProposal(Long proposalId, String requesterEmail);
+
+    /**
+     * Cancels an open proposal owned by the given user.
+     * @param proposalId the proposal to cancel
+     * @param proposerEmail email of the authenticated proposing user
+     * @return the cancelled proposal
+     */
+    PlayProposal cancelProposal(Long proposalId, String proposerEmail);
+
+    /**
+     * Lists a page of the matches the given user plays in, as proposer or as requester, including archived ones.
+     * @param userEmail email of the authenticated user
+     * @param timeframe which matches to list, which also sets their order
+     * @param after position after the last match of the previous page, {@code null} for the first page
+     * @param limit maximum number of matches in the page
+     * @return matches from the hot and archive tables in {@link MatchTimeframe#order()}
+     */
+    List<MatchResponse> findMatchesForUser(String userEmail, MatchTimeframe timeframe, MatchCursor after, int limit);
+}
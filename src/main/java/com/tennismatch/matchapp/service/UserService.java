@@ -3,6 +3,7 @@ package com.tennismatch.matchapp.service;
 import com.tennismatch.matchapp.dto.RegisterRequest;
 import com.tennismatch.matchapp.model.User;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface UserService {
@@ -20,4 +21,18 @@ public interface UserService {
      * @return an Optional containing the User if found
      */
     Optional<User> findByEmail(String email);
-} 
\ No newline at end of file
+
+    /**
+     * Finds a user by their id.
+     * @param id the user id
+     * @return an Optional containing the User if found
+     */
+    Optional<User> findById(Long id);
+
+    /**
+     * Returns the last modification time of a user without loading the entity.
+     * @param id the user id
+     * @return an Optional containing the version if the user exists
+     */
+    Optional<LocalDateTime> findVersion(Long id);
+}
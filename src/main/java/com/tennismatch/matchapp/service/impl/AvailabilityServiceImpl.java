@@ -0,0 +1,157 @@
+package com.tennismatch.matchapp.service.impl;
+
+import com.tennismatch.matchapp.dto.AvailabilityRequest;
+import com.tennismatch.matchapp.event.ProposalLifecycleEvent;
+import com.tennismatch.matchapp.matching.AvailabilitySlot;
+import com.tennismatch.matchapp.matching.SuggestedPairing;
+import com.tennismatch.matchapp.model.AvailabilityStatus;
+import com.tennismatch.matchapp.model.AvailabilityWindow;
+import com.tennismatch.matchapp.model.Match;
+import com.tennismatch.matchapp.model.MatchStatus;
+import com.tennismatch.matchapp.model.PlayProposal;
+import com.tennismatch.matchapp.model.ProposalStatus;
+import com.tennismatch.matchapp.model.User;
+import com.tennismatch.matchapp.notification.NotificationOutbox;
+import com.tennismatch.matchapp.repository.AvailabilityWindowRepository;
+import com.tennismatch.matchapp.repository.MatchRepository;
+import com.tennismatch.matchapp.repository.PlayProposalRepository;
+import com.tennismatch.matchapp.repository.UserRepository;
+import com.tennismatch.matchapp.service.AvailabilityService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+    private final AvailabilityWindowRepository availabilityWindowRepository;
+    private final PlayProposalRepository playProposalRepository;
+    private final MatchRepository matchRepository;
+    private final UserRepository userRepository;
+    private final NotificationOutbox notificationOutbox;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AvailabilityServiceImpl(AvailabilityWindowRepository availabilityWindowRepository,
+                                   PlayProposalRepository playProposalRepository,
+                                   MatchRepository matchRepository,
+                                   UserRepository userRepository,
+                                   NotificationOutbox notificationOutbox,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.availabilityWindowRepository = availabilityWindowRepository;
+        this.playProposalRepository = playProposalRepository;
+        this.matchRepository = matchRepository;
+        this.userRepository = userRepository;
+        this.notificationOutbox = notificationOutbox;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public AvailabilityWindow addWindow(String userEmail, AvailabilityRequest request) {
+        // Locked, so two windows posted at once cannot both pass the overlap check
+        User user = userRepository.findForUpdateByEmail(userEmail)
+                .orElseThrow(() -> new IllegalArgumentException("Error: User not found!"));
+        if (!request.getEndTime().isAfter(request.getStartTime())) {
+            throw new IllegalArgumentException("Error: End time must be after start time!");
+        }
+        // The matcher only keeps a player from being paired with themselves, so overlapping windows
+        // could get the same player two matches for the same time
+        if (availabilityWindowRepository.existsOverlapping(user.getId(), AvailabilityStatus.OPEN,
+                request.getStartTime(), request.getEndTime())) {
+            throw new IllegalStateException("Error: Availability window overlaps one of your open windows!");
+        }
+
+        AvailabilityWindow window = new AvailabilityWindow();
+        window.setUser(user);
+        window.setTown(user.getHomeTown());
+        window.setNtrpLevel(user.getNtrpLevel());
+        window.setStartTime(request.getStartTime());
+        window.setEndTime(request.getEndTime());
+        window.setStatus(AvailabilityStatus.OPEN);
+        return availabilityWindowRepository.save(window);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AvailabilityWindow> findOpenWindows(String userEmail) {
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new IllegalArgumentException("Error: User not found!"));
+        return availabilityWindowRepository.findByUserIdAndStatusOrderByStartTime(user.getId(), AvailabilityStatus.OPEN);
+    }
+
+    @Override
+    public AvailabilityWindow withdrawWindow(Long windowId, String userEmail) {
+        AvailabilityWindow window = availabilityWindowRepository.findForUpdateByIdIn(List.of(windowId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Error: Availability window not found!"));
+        if (!window.getUser().getEmail().equals(userEmail)) {
+            throw new IllegalArgumentException("Error: Only the owner can withdraw an availability window!");
+        }
+        if (window.getStatus() != AvailabilityStatus.OPEN) {
+            throw new IllegalStateException("Error: Availability window is no longer open!");
+        }
+        window.setStatus(AvailabilityStatus.WITHDRAWN);
+        return window;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AvailabilitySlot> findMatchableSlots(LocalDateTime from) {
+        return availabilityWindowRepository.findSlots(AvailabilityStatus.OPEN, from);
+    }
+
+    @Override
+    public Optional<Match> applySuggestion(SuggestedPairing pairing) {
+        // Both windows are locked by one statement, so two passes cannot take them in opposite order
+        List<Long> ids = List.of(pairing.first().windowId(), pairing.second().windowId());
+        Map<Long, AvailabilityWindow> windows = availabilityWindowRepository.findForUpdateByIdIn(ids).stream()
+                .collect(Collectors.toMap(AvailabilityWindow::getId, Function.identity()));
+        AvailabilityWindow first = windows.get(pairing.first().windowId());
+        AvailabilityWindow second = windows.get(pairing.second().windowId());
+        if (first == null || second == null
+                || first.getStatus() != AvailabilityStatus.OPEN || second.getStatus() != AvailabilityStatus.OPEN) {
+            return Optional.empty();
+        }
+
+        PlayProposal proposal = new PlayProposal();
+        proposal.setProposingUser(first.getUser());
+        proposal.setProposedStartTime(pairing.start());
+        proposal.setProposedEndTime(pairing.end());
+        proposal.setLocationDetails("Any court in " + first.getTown());
+        proposal.setNotes("Suggested from overlapping availability");
+        proposal.setStatus(ProposalStatus.MATCHED);
+        playProposalRepository.save(proposal);
+
+        // Both players posted the time as free, so the match is booked like an accepted proposal; the
+        // proposal is never listed as open
+        Match match = new Match();
+        match.setPlayProposal(proposal);
+        match.setRequestingUser(second.getUser());
+        match.setStatus(MatchStatus.ACCEPTED);
+        Match saved = matchRepository.save(match);
+        proposal.setConfirmedMatch(saved);
+
+        first.setStatus(AvailabilityStatus.MATCHED);
+        second.setStatus(AvailabilityStatus.MATCHED);
+        notificationOutbox.matchSuggested(proposal, second.getUser());
+        eventPublisher.publishEvent(new ProposalLifecycleEvent(
+                proposal.getId(),
+                first.getTown(),
+                first.getNtrpLevel(),
+                proposal.getProposedStartTime(),
+                null,
+                null,
+                proposal.getStatus(),
+                proposal.getLocationDetails(),
+                proposal.getNotes(),
+                LocalDateTime.now()));
+        return Optional.of(saved);
+    }
+}
@@ -0,0 +1,248 @@
+package com.tennismatch.matchapp.service.impl;
+
+import com.tennismatch.matchapp.cache.ListVersion;
+import com.tennismatch.matchapp.dto.CreateProposalRequest;
+import com.tennismatch.matchapp.dto.MatchCursor;
+import com.tennismatch.matchapp.dto.MatchResponse;
+import com.tennismatch.matchapp.dto.MatchTimeframe;
+import com.tennismatch.matchapp.dto.UpdateProposalRequest;
+import com.tennismatch.matchapp.event.ProposalLifecycleEvent;
+import com.tennismatch.matchapp.model.Match;
+import com.tennismatch.matchapp.model.MatchStatus;
+import com.tennismatch.matchapp.model.NtrpLevel;
+import com.tennismatch.matchapp.model.PlayProposal;
+import com.tennismatch.matchapp.model.ProposalStatus;
+import com.tennismatch.matchapp.model.Towns;
+import com.tennismatch.matchapp.model.User;
+import com.tennismatch.matchapp.notification.NotificationOutbox;
+import com.tennismatch.matchapp.repository.MatchHistoryRepository;
+import com.tennismatch.matchapp.repository.MatchRepository;
+import com.tennismatch.matchapp.repository.PlayProposalRepository;
+import com.tennismatch.matchapp.repository.UserRepository;
+import com.tennismatch.matchapp.search.ProposalTextIndex;
+import com.tennismatch.matchapp.service.PlayProposalService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@Transactional
+public class PlayProposalServiceImpl implements PlayProposalService {
+
+    private final PlayProposalRepository playProposalRepository;
+    private final MatchRepository matchRepository;
+    private final UserRepository userRepository;
+    private final NotificationOutbox notificationOutbox;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProposalTextIndex proposalTextIndex;
+    private final MatchHistoryRepository matchHistoryRepository;
+
+    public PlayProposalServiceImpl(PlayProposalRepository playProposalRepository,
+                                   MatchRepository matchRepository,
+                                   UserRepository userRepository,
+                                   NotificationOutbox notificationOutbox,
+                                   ApplicationEventPublisher eventPublisher,
+                                   ProposalTextIndex proposalTextIndex,
+                                   MatchHistoryRepository matchHistoryRepository) {
+        this.playProposalRepository = playProposalRepository;
+        this.matchRepository = matchRepository;
+        this.userRepository = userRepository;
+        this.notificationOutbox = notificationOutbox;
+        this.eventPublisher = eventPublisher;
+        this.proposalTextIndex = proposalTextIndex;
+        this.matchHistoryRepository = matchHistoryRepository;
+    }
+
+    @Override
+    public PlayProposal createProposal(String proposerEmail, CreateProposalRequest request) {
+        User proposer = userRepository.findByEmail(proposerEmail)
+                .orElseThrow(() -> new IllegalArgumentException("Error: User not found!"));
+        if (request.getProposedEndTime() != null
+                && !request.getProposedEndTime().isAfter(request.getProposedStartTime())) {
+            throw new IllegalArgumentException("Error: End time must be after start time!");
+        }
+
+        PlayProposal proposal = new PlayProposal();
+        proposal.setProposingUser(proposer);
+        proposal.setProposedStartTime(request.getProposedStartTime());
+        proposal.setProposedEndTime(request.getProposedEndTime());
+        proposal.setLocationDetails(request.getLocationDetails());
+        proposal.setNotes(request.getNotes());
+        proposal.setStatus(ProposalStatus.OPEN);
+
+        PlayProposal saved = playProposalRepository.save(proposal);
+        publish(saved, null);
+        return saved;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PlayProposal> findById(Long id) {
+        return playProposalRepository.findWithProposerById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> findVersion(Long id) {
+        return playProposalRepository.findVersionById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ListVersion findListVersion(String town, NtrpLevel level) {
+        return playProposalRepository.findListVersion(ProposalStatus.OPEN, Towns.key(town), level);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PlayProposal> findOpenProposals(String town, NtrpLevel level) {
+        return playProposalRepository.search(ProposalStatus.OPEN, Towns.key(town), level);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PlayProposal> searchOpenProposals(String town, NtrpLevel level, String text, int limit) {
+        List<Long> ids = proposalTextIndex.search(text, town, level, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // The index may lag behind the database by a sync interval, so the status is checked again
+        Map<Long, PlayProposal> proposals = playProposalRepository.findWithProposerByIdIn(ids).stream()
+                .filter(proposal -> proposal.getStatus() == ProposalStatus.OPEN)
+                .collect(Collectors.toMap(PlayProposal::getId, Function.identity()));
+        return ids.stream()
+                .map(proposals::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public PlayProposal updateProposal(Long proposalId, String proposerEmail, UpdateProposalRequest request) {
+        PlayProposal proposal = playProposalRepository.findForUpdateById(proposalId)
+                .orElseThrow(() -> new IllegalArgumentException("Error: Proposal not found!"));
+        if (!proposal.getProposingUser().getEmail().equals(proposerEmail)) {
+            throw new IllegalArgumentException("Error: Only the proposing user can edit a proposal!");
+        }
+        if (proposal.getStatus() != ProposalStatus.OPEN) {
+            throw new IllegalStateException("Error: Proposal is no longer open!");
+        }
+        LocalDateTime start = request.getProposedStartTime() != null
+                ? request.getProposedStartTime() : proposal.getProposedStartTime();
+        LocalDateTime end = request.getProposedEndTime() != null
+                ? request.getProposedEndTime() : proposal.getProposedEndTime();
+        if (end != null && !end.isAfter(start)) {
+            throw new IllegalArgumentException("Error: End time must be after start time!");
+        }
+
+        LocalDateTime previousStart = proposal.getProposedStartTime();
+        proposal.setProposedStartTime(start);
+        proposal.setProposedEndTime(end);
+        if (request.getLocationDetails() != null) {
+            proposal.setLocationDetails(request.getLocationDetails());
+        }
+        if (request.getNotes() != null) {
+            proposal.setNotes(request.getNotes());
+        }
+        publish(proposal, ProposalStatus.OPEN, previousStart);
+        return proposal;
+    }
+
+    @Override
+    public Match acceptProposal(Long proposalId, String requesterEmail) {
+        User requester = userRepository.findByEmail(requesterEmail)
+                .orElseThrow(() -> new IllegalArgumentException("Error: User not found!"));
+        PlayProposal proposal = playProposalRepository.findForUpdateById(proposalId)
+                .orElseThrow(() -> new IllegalArgumentException("Error: Proposal not found!"));
+        if (proposal.getProposingUser().getId().equals(requester.getId())) {
+            throw new IllegalArgumentException("Error: You cannot accept your own proposal!");
+        }
+        if (proposal.getStatus() != ProposalStatus.OPEN) {
+            throw new IllegalStateException("Error: Proposal is no longer open!");
+        }
+
+        Match match = new Match();
+        match.setPlayProposal(proposal);
+        match.setRequestingUser(requester);
+        match.setStatus(MatchStatus.ACCEPTED);
+        Match saved = matchRepository.save(match);
+
+        proposal.setStatus(ProposalStatus.MATCHED);
+        proposal.setConfirmedMatch(saved);
+        notificationOutbox.proposalAccepted(proposal, requester);
+        publish(proposal, ProposalStatus.OPEN);
+        return saved;
+    }
+
+    @Override
+    public PlayProposal cancelProposal(Long proposalId, String proposerEmail) {
+        PlayProposal proposal = playProposalRepository.findForUpdateById(proposalId)
+                .orElseThrow(() -> new IllegalArgumentException("Error: Proposal not found!"));
+        if (!proposal.getProposingUser().getEmail().equals(proposerEmail)) {
+            throw new IllegalArgumentException("Error: Only the proposing user can cancel a proposal!");
+        }
+        if (proposal.getStatus() != ProposalStatus.OPEN) {
+            throw new IllegalStateException("Error: Proposal is no longer open!");
+        }
+
+        proposal.setStatus(ProposalStatus.CANCELLED);
+        publish(proposal, ProposalStatus.OPEN);
+        return proposal;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MatchResponse> findMatchesForUser(String userEmail, MatchTimeframe timeframe, MatchCursor after, int limit) {
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new IllegalArgumentException("Error: User not found!"));
+        LocalDateTime now = LocalDateTime.now();
+        List<MatchResponse> page = matchHistoryRepository.findPage(user.getId(), timeframe, after, limit, now);
+        // Archived matches started before the hot ones, so the archive is only read once those run out
+        if (page.size() == limit || timeframe == MatchTimeframe.UPCOMING) {
+            return page;
+        }
+        // A batch archived between the two reads is in both; archiving keeps the ids, so drop the copies
+        return distinctById(Stream.concat(page.stream(),
+                        matchHistoryRepository.findArchivedPage(user.getId(), timeframe, after, limit, now).stream()))
+                .sorted(timeframe.order())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Keeps the first of the matches sharing an id.
+     */
+    static Stream<MatchResponse> distinctById(Stream<MatchResponse> matches) {
+        return matches.collect(Collectors.toMap(MatchResponse::getId, Function.identity(), (first, copy) -> first,
+                        LinkedHashMap::new))
+                .values().stream();
+    }
+
+    private void publish(PlayProposal proposal, ProposalStatus previousStatus) {
+        publish(proposal, previousStatus, previousStatus != null ? proposal.getProposedStartTime() : null);
+    }
+
+    private void publish(PlayProposal proposal, ProposalStatus previousStatus, LocalDateTime previousStartTime) {
+        User proposer = proposal.getProposingUser();
+        eventPublisher.publishEvent(new ProposalLifecycleEvent(
+                proposal.getId(),
+                proposer.getHomeTown(),
+                proposer.getNtrpLevel(),
+                proposal.getProposedStartTime(),
+                previousStartTime,
+                previousStatus,
+                proposal.getStatus(),
+                proposal.getLocationDetails(),
+                proposal.getNotes(),
+                LocalDateTime.now()));
+    }
+}
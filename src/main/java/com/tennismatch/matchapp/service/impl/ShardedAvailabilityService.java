@@ -0,0 +1,98 @@
+package com.tennismatch.matchapp.service.impl;
+
+import com.tennismatch.matchapp.dto.AvailabilityRequest;
+import com.tennismatch.matchapp.matching.AvailabilitySlot;
+import com.tennismatch.matchapp.matching.SuggestedPairing;
+import com.tennismatch.matchapp.model.AvailabilityWindow;
+import com.tennismatch.matchapp.model.Match;
+import com.tennismatch.matchapp.repository.UserRepository;
+import com.tennismatch.matchapp.service.AvailabilityService;
+import com.tennismatch.matchapp.sharding.ShardContext;
+import com.tennismatch.matchapp.sharding.ShardDirectory;
+import com.tennismatch.matchapp.sharding.ShardQueries;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Routes {@link AvailabilityServiceImpl} calls to the shard of the owner's home town, the same way
+ * {@link ShardedPlayProposalService} does for proposals; suggestions are stored next to the windows
+ * they were made from.
+ */
+@Service
+@Primary
+public class ShardedAvailabilityService implements AvailabilityService {
+
+    private final AvailabilityServiceImpl delegate;
+    private final UserRepository userRepository;
+    private final ShardDirectory directory;
+    private final ShardQueries shardQueries;
+
+    public ShardedAvailabilityService(AvailabilityServiceImpl delegate,
+                                      UserRepository userRepository,
+                                      ShardDirectory directory,
+                                      ShardQueries shardQueries) {
+        this.delegate = delegate;
+        this.userRepository = userRepository;
+        this.directory = directory;
+        this.shardQueries = shardQueries;
+    }
+
+    @Override
+    public AvailabilityWindow addWindow(String userEmail, AvailabilityRequest request) {
+        if (!directory.isSharded()) {
+            return delegate.addWindow(userEmail, request);
+        }
+        String town = homeTownOf(userEmail);
+        return directory.guardWrite(town, () ->
+                ShardContext.callIn(directory.assign(town), () -> delegate.addWindow(userEmail, request)));
+    }
+
+    @Override
+    public List<AvailabilityWindow> findOpenWindows(String userEmail) {
+        if (!directory.isSharded()) {
+            return delegate.findOpenWindows(userEmail);
+        }
+        return ShardContext.callIn(directory.shardFor(homeTownOf(userEmail)), () -> delegate.findOpenWindows(userEmail));
+    }
+
+    @Override
+    public AvailabilityWindow withdrawWindow(Long windowId, String userEmail) {
+        if (!directory.isSharded()) {
+            return delegate.withdrawWindow(windowId, userEmail);
+        }
+        // Only the owner may withdraw, and the owner's windows are all on their town's shard
+        String town = homeTownOf(userEmail);
+        return directory.guardWrite(town, () ->
+                ShardContext.callIn(directory.shardFor(town), () -> delegate.withdrawWindow(windowId, userEmail)));
+    }
+
+    @Override
+    public List<AvailabilitySlot> findMatchableSlots(LocalDateTime from) {
+        return shardQueries.scatter(() -> delegate.findMatchableSlots(from));
+    }
+
+    /**
+     * Must be called inside the scope of the shard holding the pairing's town, which the matcher
+     * enters to persist a batch in one transaction. A pairing whose town moved away since is reported
+     * as stale and picked up again by the next pass.
+     */
+    @Override
+    public Optional<Match> applySuggestion(SuggestedPairing pairing) {
+        if (!directory.isSharded()) {
+            return delegate.applySuggestion(pairing);
+        }
+        String town = pairing.first().town();
+        return directory.guardWrite(town, () -> directory.shardFor(town).equals(ShardContext.current())
+                ? delegate.applySuggestion(pairing)
+                : Optional.empty());
+    }
+
+    private String homeTownOf(String email) {
+        return ShardContext.callIn(ShardDirectory.PRIMARY, () -> userRepository.findHomeTownByEmail(email))
+                .orElseThrow(() -> new IllegalArgumentException("Error: User not found!"));
+    }
+}
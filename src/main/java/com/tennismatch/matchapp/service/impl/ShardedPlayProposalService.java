@@ -0,0 +1,139 @@
+package com.tennismatch.matchapp.service.impl;
+
+import com.tennismatch.matchapp.cache.ListVersion;
+import com.tennismatch.matchapp.dto.CreateProposalRequest;
+import com.tennismatch.matchapp.dto.MatchCursor;
+import com.tennismatch.matchapp.dto.MatchResponse;
+import com.tennismatch.matchapp.dto.MatchTimeframe;
+import com.tennismatch.matchapp.dto.UpdateProposalRequest;
+import com.tennismatch.matchapp.model.Match;
+import com.tennismatch.matchapp.model.NtrpLevel;
+import com.tennismatch.matchapp.model.PlayProposal;
+import com.tennismatch.matchapp.repository.UserRepository;
+import com.tennismatch.matchapp.service.PlayProposalService;
+import com.tennismatch.matchapp.sharding.ShardContext;
+import com.tennismatch.matchapp.sharding.ShardDirectory;
+import com.tennismatch.matchapp.sharding.ShardQueries;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Routes {@link PlayProposalServiceImpl} calls to the shard of the town they concern.
+ * <p>
+ * The shard has to be chosen before the transaction's first statement, so this runs outside any
+ * transaction: it resolves the shard key (the proposer's home town, or the proposal id) against the
+ * primary database and the directory, then calls the transactional service inside that shard's scope.
+ * Without sharding there is a single shard and calls go straight through.
+ */
+@Service
+@Primary
+public class ShardedPlayProposalService implements PlayProposalService {
+
+    private final PlayProposalServiceImpl delegate;
+    private final UserRepository userRepository;
+    private final ShardDirectory directory;
+    private final ShardQueries shardQueries;
+
+    public ShardedPlayProposalService(PlayProposalServiceImpl delegate,
+                                      UserRepository userRepository,
+                                      ShardDirectory directory,
+                                      ShardQueries shardQueries) {
+        this.delegate = delegate;
+        this.userRepository = userRepository;
+        this.directory = directory;
+        this.shardQueries = shardQueries;
+    }
+
+    @Override
+    public PlayProposal createProposal(String proposerEmail, CreateProposalRequest request) {
+        if (!directory.isSharded()) {
+            return delegate.createProposal(proposerEmail, request);
+        }
+        String town = homeTownOf(proposerEmail);
+        return directory.guardWrite(town, () ->
+                ShardContext.callIn(directory.assign(town), () -> delegate.createProposal(proposerEmail, request)));
+    }
+
+    @Override
+    public Optional<PlayProposal> findById(Long id) {
+        return shardQueries.findById(id, () -> delegate.findById(id));
+    }
+
+    @Override
+    public Optional<LocalDateTime> findVersion(Long id) {
+        return shardQueries.findById(id, () -> delegate.findVersion(id));
+    }
+
+    @Override
+    public ListVersion findListVersion(String town, NtrpLevel level) {
+        return ShardContext.callIn(directory.shardFor(town), () -> delegate.findListVersion(town, level));
+    }
+
+    @Override
+    public List<PlayProposal> findOpenProposals(String town, NtrpLevel level) {
+        return ShardContext.callIn(directory.shardFor(town), () -> delegate.findOpenProposals(town, level));
+    }
+
+    @Override
+    public List<PlayProposal> searchOpenProposals(String town, NtrpLevel level, String text, int limit) {
+        return ShardContext.callIn(directory.shardFor(town), () -> delegate.searchOpenProposals(town, level, text, limit));
+    }
+
+    @Override
+    public Match acceptProposal(Long proposalId, String requesterEmail) {
+        return writeProposal(proposalId, () -> delegate.acceptProposal(proposalId, requesterEmail));
+    }
+
+    @Override
+    public PlayProposal updateProposal(Long proposalId, String proposerEmail, UpdateProposalRequest request) {
+        return writeProposal(proposalId, () -> delegate.updateProposal(proposalId, proposerEmail, request));
+    }
+
+    @Override
+    public PlayProposal cancelProposal(Long proposalId, String proposerEmail) {
+        return writeProposal(proposalId, () -> delegate.cancelProposal(proposalId, proposerEmail));
+    }
+
+    /**
+     * Matches are stored with the proposal, on the proposer's shard, so a player's matches can be on any
+     * shard. All shards are queried in parallel and the results merged in the order each shard returns.
+     */
+    @Override
+    public List<MatchResponse> findMatchesForUser(String userEmail, MatchTimeframe timeframe, MatchCursor after, int limit) {
+        if (!directory.isSharded()) {
+            return delegate.findMatchesForUser(userEmail, timeframe, after, limit);
+        }
+        // Every shard returns its first page after the cursor; the merged page is the first of those rows
+        // A town being moved can answer from two shards for a moment
+        return PlayProposalServiceImpl.distinctById(
+                        shardQueries.scatter(() -> delegate.findMatchesForUser(userEmail, timeframe, after, limit)).stream())
+                .sorted(timeframe.order())
+                .limit(limit)
+                .toList();
+    }
+
+    private <T> T writeProposal(Long proposalId, Supplier<T> write) {
+        if (!directory.isSharded()) {
+            return write.get();
+        }
+        String town = findById(proposalId)
+                .map(proposal -> proposal.getProposingUser().getHomeTown())
+                .orElseThrow(() -> new IllegalArgumentException("Error: Proposal not found!"));
+        return directory.guardWrite(town, () -> {
+            // Located again under the guard, in case the town moved in between
+            String shard = shardQueries.locate(proposalId, () -> delegate.findVersion(proposalId).isPresent())
+                    .orElseThrow(() -> new IllegalArgumentException("Error: Proposal not found!"));
+            return ShardContext.callIn(shard, write);
+        });
+    }
+
+    private String homeTownOf(String email) {
+        return ShardContext.callIn(ShardDirectory.PRIMARY, () -> userRepository.findHomeTownByEmail(email))
+                .orElseThrow(() -> new IllegalArgumentException("Error: User not found!"));
+    }
+}
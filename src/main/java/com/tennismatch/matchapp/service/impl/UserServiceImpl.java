@@ -1,14 +1,18 @@
 package com.tennismatch.matchapp.service.impl;
 
 import com.tennismatch.matchapp.dto.RegisterRequest;
+import com.tennismatch.matchapp.event.UserChangedEvent;
 import com.tennismatch.matchapp.model.Role;
 import com.tennismatch.matchapp.model.User;
+import com.tennismatch.matchapp.notification.NotificationOutbox;
 import com.tennismatch.matchapp.repository.UserRepository;
 import com.tennismatch.matchapp.service.UserService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.HashSet;
 
@@ -18,10 +22,15 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final NotificationOutbox notificationOutbox;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                           NotificationOutbox notificationOutbox, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.notificationOutbox = notificationOutbox;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -47,11 +56,28 @@ public class UserServiceImpl implements UserService {
         // Add a default role, e.g., "ROLE_USER" as per Spring Security conventions if roles are simple strings
         user.getRoles().add(Role.ROLE_USER);
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        // Stored with the user; the confirmation email is sent off the request path
+        notificationOutbox.welcome(saved);
+        eventPublisher.publishEvent(new UserChangedEvent(saved.getId()));
+        return saved;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
-} 
\ No newline at end of file
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findById(Long id) {
+        return userRepository.findById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> findVersion(Long id) {
+        return userRepository.findUpdatedAtById(id);
+    }
+}
@@ -0,0 +1,44 @@
+package com.tennismatch.matchapp.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * The shard the current thread works against. {@link ShardRoutingDataSource} hands out connections of
+ * this shard, so the scope must be entered before the first statement of a transaction runs; the
+ * connection then stays with the transaction until it ends.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return the current shard, or {@code null} outside any shard scope (the primary database)
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T callIn(String shard, Supplier<T> action) {
+        String previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public static void runIn(String shard, Runnable action) {
+        callIn(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
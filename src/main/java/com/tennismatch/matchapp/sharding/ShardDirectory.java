@@ -0,0 +1,200 @@
+package com.tennismatch.matchapp.sharding;
+
+import com.tennismatch.matchapp.model.ShardAssignment;
+import com.tennismatch.matchapp.model.Towns;
+import com.tennismatch.matchapp.repository.ShardAssignmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Places towns on shards.
+ * <p>
+ * Assignments are kept in the {@code shard_assignments} table of the primary database and cached here.
+ * A town is assigned when its first row is written: to the shard configured in
+ * {@code app.sharding.towns}, otherwise by hashing the town name over the shards. Because assignments
+ * are sticky, adding a shard only affects towns that have no data yet; existing towns are moved
+ * explicitly with {@link ShardRebalancer}.
+ * <p>
+ * Ids of sharded rows are allocated from a separate range per shard ({@link #ID_RANGE} ids each), so the
+ * shard that created a row can be told from its id. Rows moved with their town keep their id, so a
+ * lookup by id that misses on the creating shard has to check the others.
+ * <p>
+ * Writes for a town run under a per-town guard that a move takes exclusively, so no write can land on
+ * the old shard while the town's rows are copied. The guard is local to this instance: with several
+ * instances, moves must only be made while the town's writes are drained.
+ */
+public class ShardDirectory {
+
+    /** Name of the primary database when used as a shard. */
+    public static final String PRIMARY = "primary";
+
+    /** Size of the id range allocated to each shard; shard {@code i} starts at {@code i * ID_RANGE + 1}. */
+    public static final long ID_RANGE = 1_000_000_000_000L;
+
+    private static final Logger log = LoggerFactory.getLogger(ShardDirectory.class);
+
+    private final List<String> shards;
+    private final Map<String, String> configured;
+    private final ShardAssignmentRepository assignmentRepository;
+    private final Map<String, String> assignments = new ConcurrentHashMap<>();
+    private final Map<String, ReadWriteLock> guards = new ConcurrentHashMap<>();
+
+    public ShardDirectory(List<String> additionalShards, Map<String, String> configured,
+                          ShardAssignmentRepository assignmentRepository) {
+        List<String> all = new ArrayList<>();
+        all.add(PRIMARY);
+        all.addAll(additionalShards);
+        this.shards = Collections.unmodifiableList(all);
+        this.configured = new ConcurrentHashMap<>();
+        configured.forEach((town, shard) -> this.configured.put(key(town), requireShard(shard)));
+        this.assignmentRepository = assignmentRepository;
+    }
+
+    public List<String> getShards() {
+        return shards;
+    }
+
+    public boolean isSharded() {
+        return shards.size() > 1;
+    }
+
+    /**
+     * Shard holding the town's rows. Towns without any rows yet are not recorded; the shard they would
+     * be assigned to is returned, and it holds nothing for them.
+     */
+    public String shardFor(String town) {
+        if (!isSharded()) {
+            return PRIMARY;
+        }
+        String key = key(town);
+        String assigned = assignments.get(key);
+        return assigned != null ? assigned : placement(key);
+    }
+
+    /**
+     * Shard for writing the town's rows, recording the assignment on first use.
+     */
+    public String assign(String town) {
+        if (!isSharded()) {
+            return PRIMARY;
+        }
+        String key = key(town);
+        String assigned = assignments.get(key);
+        if (assigned != null) {
+            return assigned;
+        }
+        String shard = ShardContext.callIn(PRIMARY, () -> assignmentRepository.findById(key)
+                .map(ShardAssignment::getShard)
+                .orElseGet(() -> record(key, placement(key))));
+        String previous = assignments.putIfAbsent(key, shard);
+        return previous != null ? previous : shard;
+    }
+
+    /**
+     * Shard whose id range contains the id, i.e. the shard that created the row.
+     */
+    public String shardOfId(long id) {
+        int index = (int) ((id - 1) / ID_RANGE);
+        return index >= 0 && index < shards.size() ? shards.get(index) : PRIMARY;
+    }
+
+    public int indexOf(String shard) {
+        return shards.indexOf(requireShard(shard));
+    }
+
+    /**
+     * Runs a write for the town, excluding concurrent moves of that town.
+     */
+    public <T> T guardWrite(String town, Supplier<T> write) {
+        ReadWriteLock guard = guard(town);
+        guard.readLock().lock();
+        try {
+            return write.get();
+        } finally {
+            guard.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a move of the town, excluding all writes for it.
+     */
+    <T> T guardMove(String town, Supplier<T> move) {
+        ReadWriteLock guard = guard(town);
+        guard.writeLock().lock();
+        try {
+            return move.get();
+        } finally {
+            guard.writeLock().unlock();
+        }
+    }
+
+    void reassign(String town, String shard) {
+        String key = key(town);
+        requireShard(shard);
+        ShardContext.runIn(PRIMARY, () -> assignmentRepository.save(new ShardAssignment(key, shard, null)));
+        assignments.put(key, shard);
+    }
+
+    /**
+     * Reloads the assignments from the primary database.
+     */
+    public void refresh() {
+        if (!isSharded()) {
+            return;
+        }
+        ShardContext.runIn(PRIMARY, () -> {
+            for (ShardAssignment assignment : assignmentRepository.findAll()) {
+                if (shards.contains(assignment.getShard())) {
+                    assignments.put(assignment.getTown(), assignment.getShard());
+                } else {
+                    log.error("Town '{}' is assigned to unknown shard {}", assignment.getTown(), assignment.getShard());
+                }
+            }
+        });
+    }
+
+    public Map<String, String> getAssignments() {
+        return Collections.unmodifiableMap(assignments);
+    }
+
+    private String record(String key, String shard) {
+        try {
+            assignmentRepository.save(new ShardAssignment(key, shard, null));
+            log.info("Assigned town '{}' to shard {}", key, shard);
+            return shard;
+        } catch (DataIntegrityViolationException e) {
+            // Another instance assigned the town first
+            return assignmentRepository.findById(key).map(ShardAssignment::getShard).orElseThrow(() -> e);
+        }
+    }
+
+    private String placement(String key) {
+        String shard = configured.get(key);
+        return shard != null ? shard : shards.get(Math.floorMod(key.hashCode(), shards.size()));
+    }
+
+    private ReadWriteLock guard(String town) {
+        return guards.computeIfAbsent(key(town), k -> new ReentrantReadWriteLock());
+    }
+
+    private String requireShard(String shard) {
+        if (!shards.contains(shard)) {
+            throw new IllegalArgumentException("Error: Unknown shard " + shard + "!");
+        }
+        return shard;
+    }
+
+    static String key(String town) {
+        return Towns.key(town);
+    }
+}
@@ -0,0 +1,32 @@
+package com.tennismatch.matchapp.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Connection pools of the configured shards, in configuration order. Empty when sharding is disabled.
+ */
+public class ShardPools implements AutoCloseable {
+
+    private final Map<String, HikariDataSource> pools;
+
+    public ShardPools(Map<String, HikariDataSource> pools) {
+        this.pools = Collections.unmodifiableMap(new LinkedHashMap<>(pools));
+    }
+
+    public Map<String, HikariDataSource> getPools() {
+        return pools;
+    }
+
+    public boolean isEmpty() {
+        return pools.isEmpty();
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
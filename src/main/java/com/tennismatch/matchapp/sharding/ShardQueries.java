@@ -0,0 +1,82 @@
+package com.tennismatch.matchapp.sharding;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Runs queries across shards.
+ */
+@Component
+public class ShardQueries {
+
+    private final ShardDirectory directory;
+    private final ExecutorService executor;
+
+    public ShardQueries(ShardDirectory directory, @Qualifier("shardQueryExecutor") ExecutorService executor) {
+        this.directory = directory;
+        this.executor = executor;
+    }
+
+    /**
+     * Runs the query on every shard in parallel and concatenates the results in shard order.
+     * A failing shard fails the whole query rather than returning a silently incomplete result.
+     */
+    public <T> List<T> scatter(Supplier<List<T>> query) {
+        List<String> shards = directory.getShards();
+        if (shards.size() == 1) {
+            return ShardContext.callIn(shards.get(0), query);
+        }
+        List<CompletableFuture<List<T>>> legs = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> ShardContext.callIn(shard, query), executor))
+                .toList();
+        List<T> results = new ArrayList<>();
+        try {
+            for (CompletableFuture<List<T>> leg : legs) {
+                results.addAll(leg.join());
+            }
+        } catch (CompletionException e) {
+            legs.forEach(leg -> leg.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    /**
+     * Looks a row up by id: on the shard that created it first, then on the others in case it moved
+     * with its town.
+     */
+    public <T> Optional<T> findById(long id, Supplier<Optional<T>> query) {
+        String home = directory.shardOfId(id);
+        Optional<T> found = ShardContext.callIn(home, query);
+        if (found.isPresent() || !directory.isSharded()) {
+            return found;
+        }
+        for (String shard : directory.getShards()) {
+            if (!shard.equals(home)) {
+                found = ShardContext.callIn(shard, query);
+                if (found.isPresent()) {
+                    return found;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Shard currently holding the row with the given id, using the same search order as {@link #findById}.
+     */
+    public Optional<String> locate(long id, Supplier<Boolean> exists) {
+        return findById(id, () -> exists.get() ? Optional.of(ShardContext.current()) : Optional.empty());
+    }
+}
@@ -0,0 +1,95 @@
+package com.tennismatch.matchapp.sharding;
+
+import com.tennismatch.matchapp.model.AvailabilityWindow;
+import com.tennismatch.matchapp.model.Match;
+import com.tennismatch.matchapp.model.PlayProposal;
+import org.hibernate.StatelessSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves a town's proposals, matches and availability windows to another shard.
+ * <p>
+ * The rows are copied to the target with their ids, the directory is switched, and only then are the
+ * rows deleted from the source. Writes for the town wait while this runs (see
+ * {@link ShardDirectory#guardWrite}); reads keep going to the source until the switch. If the delete
+ * fails, the source is left with unreachable copies that a repeated move cleans up.
+ */
+@Component
+public class ShardRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRebalancer.class);
+    private static final int DELETE_CHUNK = 1000;
+
+    private final ShardDirectory directory;
+    private final ShardSessions shardSessions;
+
+    public ShardRebalancer(ShardDirectory directory, ShardSessions shardSessions) {
+        this.directory = directory;
+        this.shardSessions = shardSessions;
+    }
+
+    public record MoveResult(String town, String from, String to, int proposals, int matches, int windows) {
+    }
+
+    public MoveResult moveTown(String town, String target) {
+        directory.indexOf(target); // rejects unknown shards
+        String key = ShardDirectory.key(town);
+        MoveResult result = directory.guardMove(key, () -> {
+            String source = directory.shardFor(key);
+            TownRows rows = shardSessions.inTransaction(source, session -> load(session, key));
+            if (!source.equals(target)) {
+                shardSessions.inTransaction(target, session -> {
+                    rows.proposals().forEach(session::upsert);
+                    rows.matches().forEach(session::upsert);
+                    rows.windows().forEach(session::upsert);
+                    return null;
+                });
+            }
+            directory.reassign(key, target);
+            if (!source.equals(target)) {
+                shardSessions.inTransaction(source, session -> {
+                    delete(session, "AvailabilityWindow", rows.windows().stream().map(AvailabilityWindow::getId).toList());
+                    delete(session, "Match", rows.matches().stream().map(Match::getId).toList());
+                    delete(session, "PlayProposal", rows.proposals().stream().map(PlayProposal::getId).toList());
+                    return null;
+                });
+            }
+            return new MoveResult(key, source, target,
+                    rows.proposals().size(), rows.matches().size(), rows.windows().size());
+        });
+        log.info("Moved town '{}' from shard {} to {}: {} proposals, {} matches, {} availability windows",
+                key, result.from(), target, result.proposals(), result.matches(), result.windows());
+        return result;
+    }
+
+    private TownRows load(StatelessSession session, String key) {
+        return new TownRows(
+                session.createSelectionQuery(
+                                "from PlayProposal p where lower(trim(p.proposingUser.homeTown)) = :town", PlayProposal.class)
+                        .setParameter("town", key)
+                        .getResultList(),
+                session.createSelectionQuery(
+                                "from Match m where lower(trim(m.playProposal.proposingUser.homeTown)) = :town", Match.class)
+                        .setParameter("town", key)
+                        .getResultList(),
+                session.createSelectionQuery(
+                                "from AvailabilityWindow w where lower(trim(w.town)) = :town", AvailabilityWindow.class)
+                        .setParameter("town", key)
+                        .getResultList());
+    }
+
+    private static void delete(StatelessSession session, String entity, List<Long> ids) {
+        for (int from = 0; from < ids.size(); from += DELETE_CHUNK) {
+            session.createMutationQuery("delete from " + entity + " e where e.id in :ids")
+                    .setParameterList("ids", ids.subList(from, Math.min(from + DELETE_CHUNK, ids.size())))
+                    .executeUpdate();
+        }
+    }
+
+    private record TownRows(List<PlayProposal> proposals, List<Match> matches, List<AvailabilityWindow> windows) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.tennismatch.matchapp.sharding;
+
+import com.tennismatch.matchapp.event.UserChangedEvent;
+import com.tennismatch.matchapp.model.User;
+import com.tennismatch.matchapp.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps a copy of the {@code users} table on every shard.
+ * <p>
+ * Users stay in the primary database, but proposals and matches reference them by foreign key and are
+ * read together with their players, so each shard holds the user rows as a reference table. Changed
+ * users are copied after their transaction commits, on the committing thread, so a freshly registered
+ * user can propose as soon as the registration response arrives. Roles are not copied; authentication
+ * always reads the primary.
+ */
+@Component
+public class ShardReferenceReplicator {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardReferenceReplicator.class);
+    private static final int PAGE_SIZE = 500;
+
+    private final ShardPools shardPools;
+    private final ShardSessions shardSessions;
+    private final UserRepository userRepository;
+
+    public ShardReferenceReplicator(ShardPools shardPools, ShardSessions shardSessions, UserRepository userRepository) {
+        this.shardPools = shardPools;
+        this.shardSessions = shardSessions;
+        this.userRepository = userRepository;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (shardPools.isEmpty()) {
+            return;
+        }
+        ShardContext.callIn(ShardDirectory.PRIMARY, () -> userRepository.findById(event.userId()))
+                .ifPresent(user -> shardPools.getPools().keySet().forEach(shard -> {
+                    try {
+                        shardSessions.inTransaction(shard, session -> {
+                            session.upsert(user);
+                            return null;
+                        });
+                    } catch (RuntimeException e) {
+                        // Caught up by replicateAll on the next start
+                        log.error("Copying user {} to shard {} failed", user.getId(), shard, e);
+                    }
+                }));
+    }
+
+    /**
+     * Copies all users to the shard, in pages.
+     * @return the number of users copied
+     */
+    public long replicateAll(String shard) {
+        long copied = 0;
+        Page<User> page;
+        int number = 0;
+        do {
+            PageRequest request = PageRequest.of(number++, PAGE_SIZE, Sort.by("id"));
+            page = ShardContext.callIn(ShardDirectory.PRIMARY, () -> userRepository.findAll(request));
+            Page<User> users = page;
+            shardSessions.inTransaction(shard, session -> {
+                users.forEach(session::upsert);
+                return null;
+            });
+            copied += page.getNumberOfElements();
+        } while (page.hasNext());
+        return copied;
+    }
+}
@@ -0,0 +1,31 @@
+package com.tennismatch.matchapp.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hands out connections of the shard in {@link ShardContext}, or of the primary outside any shard scope.
+ * Like {@link com.tennismatch.matchapp.datasource.ReplicaRoutingDataSource}, it must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, because transactions begin
+ * before the service method has entered its shard scope.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    public ShardRoutingDataSource(DataSource primary, Map<String, ? extends DataSource> shards) {
+        Map<Object, Object> targets = new LinkedHashMap<>(shards);
+        targets.put(ShardDirectory.PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        // An unknown shard name is a routing bug; never let it silently write to the primary
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+}
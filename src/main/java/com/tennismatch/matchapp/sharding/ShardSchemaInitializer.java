@@ -0,0 +1,81 @@
+package com.tennismatch.matchapp.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.tool.schema.spi.SchemaManagementException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prepares the shards before the application starts serving requests: creates the mapped schema on
+ * shards that have none yet, moves the id sequences of sharded tables to the shard's range (see
+ * {@link ShardDirectory#ID_RANGE}), copies the user reference table and loads the directory.
+ * <p>
+ * Schema creation is meant for local H2 shards and tests; shards of a real deployment get their schema
+ * from the same migrations as the primary, and then need the sequence ranges set up there as well.
+ */
+@Component
+public class ShardSchemaInitializer implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+
+    // Tables whose ids must stay unique across shards
+    private static final List<String> SHARDED_TABLES = List.of("play_proposals", "matches", "availability_windows");
+
+    private final ShardingProperties properties;
+    private final ShardPools shardPools;
+    private final ShardDirectory directory;
+    private final ShardReferenceReplicator replicator;
+    private final SessionFactory sessionFactory;
+
+    public ShardSchemaInitializer(ShardingProperties properties, ShardPools shardPools, ShardDirectory directory,
+                                  ShardReferenceReplicator replicator, EntityManagerFactory entityManagerFactory) {
+        this.properties = properties;
+        this.shardPools = shardPools;
+        this.directory = directory;
+        this.replicator = replicator;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (shardPools.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<String, HikariDataSource> shard : shardPools.getPools().entrySet()) {
+            if (properties.initializeSchema()) {
+                initializeSchema(shard.getKey(), shard.getValue());
+            }
+            long users = replicator.replicateAll(shard.getKey());
+            log.info("Shard {} ready, {} users copied", shard.getKey(), users);
+        }
+        directory.refresh();
+    }
+
+    private void initializeSchema(String shard, HikariDataSource pool) {
+        boolean created = ShardContext.callIn(shard, () -> {
+            try {
+                sessionFactory.getSchemaManager().validateMappedObjects();
+                return false;
+            } catch (SchemaManagementException e) {
+                sessionFactory.getSchemaManager().exportMappedObjects(true);
+                return true;
+            }
+        });
+        if (created) {
+            long firstId = directory.indexOf(shard) * ShardDirectory.ID_RANGE + 1;
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(pool);
+            for (String table : SHARDED_TABLES) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + firstId);
+            }
+            log.info("Created schema on shard {}, ids start at {}", shard, firstId);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.tennismatch.matchapp.sharding;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * Stateless Hibernate sessions bound to a shard, for copying rows between databases. Rows are written
+ * with their existing ids ({@link StatelessSession#upsert}), which the regular repositories cannot do.
+ */
+@Component
+public class ShardSessions {
+
+    private final SessionFactory sessionFactory;
+
+    public ShardSessions(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    /**
+     * Runs the work in its own transaction on the shard, independent of any Spring-managed transaction.
+     */
+    public <T> T inTransaction(String shard, Function<StatelessSession, T> work) {
+        return ShardContext.callIn(shard, () -> {
+            try (StatelessSession session = sessionFactory.openStatelessSession()) {
+                Transaction transaction = session.beginTransaction();
+                try {
+                    T result = work.apply(session);
+                    transaction.commit();
+                    return result;
+                } catch (RuntimeException e) {
+                    transaction.rollback();
+                    throw e;
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,37 @@
+package com.tennismatch.matchapp.sharding;
+
+import com.tennismatch.matchapp.repository.ShardAssignmentRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ShardingConfig {
+
+    @Bean
+    public ShardDirectory shardDirectory(ShardingProperties properties, ShardPools shardPools,
+                                         ShardAssignmentRepository assignmentRepository, TaskScheduler taskScheduler) {
+        ShardDirectory directory = new ShardDirectory(
+                List.copyOf(shardPools.getPools().keySet()), properties.towns(), assignmentRepository);
+        if (directory.isSharded()) {
+            // The first load happens in ShardSchemaInitializer, once the schema is known to exist
+            taskScheduler.scheduleWithFixedDelay(directory::refresh,
+                    Instant.now().plus(properties.directoryRefreshInterval()), properties.directoryRefreshInterval());
+        }
+        return directory;
+    }
+
+    /**
+     * Runs the per-shard legs of scatter-gather queries. They block on JDBC, so virtual threads keep a
+     * fan-out over many shards from tying up platform threads.
+     */
+    @Bean
+    public ExecutorService shardQueryExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
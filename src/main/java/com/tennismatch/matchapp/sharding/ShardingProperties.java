@@ -0,0 +1,29 @@
+package com.tennismatch.matchapp.sharding;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Town sharding of proposals, matches and availability windows.
+ *
+ * @param enabled                   whether the shards below are used; without it everything lives in {@code spring.datasource}
+ * @param shards                    additional shard databases; the primary database is always shard {@value ShardDirectory#PRIMARY}
+ * @param towns                     initial town-to-shard assignments, overriding the hash placement of towns not yet in the directory
+ * @param initializeSchema          create the mapped schema on shards that do not have it yet (local H2 and tests)
+ * @param directoryRefreshInterval  how often the directory is re-read, so moves made by another instance are picked up
+ */
+@ConfigurationProperties(prefix = "app.sharding")
+public record ShardingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue List<Shard> shards,
+        @DefaultValue Map<String, String> towns,
+        @DefaultValue("true") boolean initializeSchema,
+        @DefaultValue("30s") Duration directoryRefreshInterval) {
+
+    public record Shard(String name, String url, String username, String password) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.tennismatch.matchapp.sharding;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@code /actuator/shards}: lists the shards and town assignments, and moves towns between shards.
+ * Not exposed over HTTP by default; expose it only on a management port that is not publicly reachable.
+ */
+@Component
+@Endpoint(id = "shards")
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class ShardsEndpoint {
+
+    private final ShardDirectory directory;
+    private final ShardRebalancer rebalancer;
+
+    public ShardsEndpoint(ShardDirectory directory, ShardRebalancer rebalancer) {
+        this.directory = directory;
+        this.rebalancer = rebalancer;
+    }
+
+    @ReadOperation
+    public Map<String, Object> shards() {
+        return Map.of(
+                "shards", directory.getShards(),
+                "towns", new TreeMap<>(directory.getAssignments()));
+    }
+
+    @WriteOperation
+    public ShardRebalancer.MoveResult move(String town, String shard) {
+        return rebalancer.moveTown(town, shard);
+    }
+}
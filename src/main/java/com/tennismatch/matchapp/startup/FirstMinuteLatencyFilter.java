@@ -0,0 +1,85 @@
+package com.tennismatch.matchapp.startup;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times API requests between {@link #open()} and {@link #close()}, the first minute after the instance
+ * reports ready, so a slow start after a deploy shows up on its own instead of being averaged away.
+ * <p>
+ * On close the p99 of the window is kept, and logged, so it can still be read long after the window's
+ * samples have expired.
+ * <p>
+ * Exports {@code http.server.requests.first.minute} (with histogram and p99) and
+ * {@code startup.first.minute.p99} (seconds, set when the window closes).
+ */
+public class FirstMinuteLatencyFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(FirstMinuteLatencyFilter.class);
+    private static final double P99 = 0.99;
+
+    private final Timer timer;
+    private volatile boolean open;
+    private volatile double p99 = Double.NaN;
+
+    public FirstMinuteLatencyFilter(MeterRegistry meterRegistry) {
+        this.timer = Timer.builder("http.server.requests.first.minute")
+                .description("API requests in the first minute after the instance reported ready")
+                .publishPercentiles(P99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("startup.first.minute.p99", this, filter -> filter.p99)
+                .description("p99 latency of the first minute after readiness, in seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!open) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void open() {
+        open = true;
+    }
+
+    public void close() {
+        if (!open) {
+            return;
+        }
+        open = false;
+        double value = 0;
+        for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == P99) {
+                value = percentile.value(TimeUnit.SECONDS);
+            }
+        }
+        p99 = value;
+        log.info("First minute after readiness: {} API requests, p99 {} ms", timer.count(), Math.round(value * 1000));
+    }
+
+    public double getP99() {
+        return p99;
+    }
+}
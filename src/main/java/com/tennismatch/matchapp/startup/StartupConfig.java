@@ -0,0 +1,44 @@
+package com.tennismatch.matchapp.startup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+
+@Configuration
+@EnableConfigurationProperties(WarmupProperties.class)
+public class StartupConfig {
+
+    @Bean
+    public FirstMinuteLatencyFilter firstMinuteLatencyFilter(MeterRegistry meterRegistry) {
+        return new FirstMinuteLatencyFilter(meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<FirstMinuteLatencyFilter> firstMinuteLatencyFilterRegistration(
+            FirstMinuteLatencyFilter filter) {
+        FilterRegistrationBean<FirstMinuteLatencyFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        // Outermost, so time spent waiting in the concurrency limiter counts too
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 30);
+        return registration;
+    }
+
+    // Warm-up requests run before readiness and are not part of the window
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> firstMinuteWindow(FirstMinuteLatencyFilter filter,
+                                                                        WarmupProperties properties,
+                                                                        TaskScheduler taskScheduler) {
+        return event -> {
+            filter.open();
+            taskScheduler.schedule(filter::close, Instant.now().plus(properties.firstRequestWindow()));
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.tennismatch.matchapp.startup;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Warm-up before the instance reports ready, and the window after it in which latency is tracked separately.
+ *
+ * @param enabled            whether the request paths are exercised before readiness
+ * @param iterations         rounds of lookup, search and authentication requests
+ * @param registrationEvery  a rolled-back registration is run every this many rounds
+ * @param timeout            warm-up stops after this long, finished or not
+ * @param firstRequestWindow requests in this period after readiness are also recorded in
+ *                           {@code http.server.requests.first.minute}
+ */
+@Validated
+@ConfigurationProperties(prefix = "app.warmup")
+public record WarmupProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("200") @Positive int iterations,
+        @DefaultValue("20") @Positive int registrationEvery,
+        @DefaultValue("60s") Duration timeout,
+        @DefaultValue("1m") Duration firstRequestWindow) {
+}
@@ -0,0 +1,156 @@
+package com.tennismatch.matchapp.startup;
+
+import com.tennismatch.matchapp.dto.RegisterRequest;
+import com.tennismatch.matchapp.model.NtrpLevel;
+import com.tennismatch.matchapp.model.Sex;
+import com.tennismatch.matchapp.service.UserService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Exercises the register, lookup and search paths before the instance reports ready.
+ * <p>
+ * Spring Boot runs application runners after the web server has started but before the readiness state
+ * changes to accepting traffic, so {@code /actuator/health/readiness} stays down until this finishes. It
+ * runs last, after the runners loading the in-memory indexes and counts, which are ordered first.
+ * <p>
+ * Requests go through the local port, so the filters, security, validation, Jackson and the controllers
+ * are warmed along with Hibernate and the connection pool. They only read: searches use synthetic towns
+ * and terms, lookups use low ids, and authentication uses an unknown account, which still runs BCrypt.
+ * Registration cannot be sent over HTTP without creating an account, so it runs in-process in a
+ * transaction that is rolled back with its welcome notification; the user is only replicated to the
+ * shards after a commit, so that never happens. Warm-up stops at {@link WarmupProperties#timeout()} and never fails the startup.
+ * <p>
+ * Exports {@code warmup.duration} and {@code warmup.rounds}. Time to ready, warm-up included, is Spring Boot's
+ * {@code application.ready.time}.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+    private static final String[] TOWNS = {"Warmup Town", "warmup-city", "Warmup Village"};
+    private static final String[] TERMS = {"doubles", "clay court", "morning rally", "serve practice"};
+
+    private final WarmupProperties properties;
+    private final ApplicationContext context;
+    private final UserService userService;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer duration;
+    private final Counter completedRounds;
+
+    public WarmupRunner(WarmupProperties properties,
+                        ApplicationContext context,
+                        UserService userService,
+                        PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.context = context;
+        this.userService = userService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.duration = Timer.builder("warmup.duration")
+                .description("Time spent exercising request paths before readiness")
+                .register(meterRegistry);
+        this.completedRounds = Counter.builder("warmup.rounds")
+                .description("Warm-up rounds completed before readiness")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Without a running server (MockMvc tests) there is nothing to warm
+        if (!properties.enabled()
+                || !(context instanceof WebServerApplicationContext web) || web.getWebServer() == null) {
+            return;
+        }
+        RestClient client = RestClient.builder()
+                .baseUrl("http://localhost:" + web.getWebServer().getPort())
+                // Not found, unauthorized and rejected bodies are expected here
+                .defaultStatusHandler(status -> true, (request, response) -> { })
+                .build();
+        long started = System.nanoTime();
+        long deadline = started + properties.timeout().toNanos();
+        int rounds = 0;
+        try {
+            while (rounds < properties.iterations() && System.nanoTime() < deadline) {
+                round(client, rounds);
+                if (rounds % properties.registrationEvery() == 0) {
+                    register(rounds);
+                }
+                rounds++;
+                completedRounds.increment();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Warm-up stopped after {} rounds: {}", rounds, e.toString());
+        }
+        long elapsed = System.nanoTime() - started;
+        duration.record(Duration.ofNanos(elapsed));
+        log.info("Warmed up request paths with {} rounds in {} ms", rounds, elapsed / 1_000_000);
+    }
+
+    private void round(RestClient client, int round) {
+        String town = TOWNS[round % TOWNS.length];
+        NtrpLevel level = NtrpLevel.values()[round % NtrpLevel.values().length];
+        client.get()
+                .uri(uri -> uri.path("/api/match-proposals/search")
+                        .queryParam("town", town)
+                        .queryParam("level", level)
+                        .queryParam("q", TERMS[round % TERMS.length])
+                        .build())
+                .retrieve()
+                .toBodilessEntity();
+        client.get().uri("/api/calendar?town={town}&level={level}", town, level).retrieve().toBodilessEntity();
+        client.get().uri("/api/users/{id}", round % 10 + 1).retrieve().toBodilessEntity();
+        client.get().uri("/api/match-proposals/{id}", round % 10 + 1).retrieve().toBodilessEntity();
+        client.get()
+                .uri("/api/matches/mine")
+                .header(HttpHeaders.AUTHORIZATION, "Basic " + Base64.getEncoder().encodeToString(
+                        "warmup@warmup.invalid:not-a-password".getBytes(StandardCharsets.UTF_8)))
+                .retrieve()
+                .toBodilessEntity();
+        // Rejected by validation, so nothing is stored
+        client.post()
+                .uri("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{\"email\":\"not-an-email\",\"password\":\"short\"}")
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+    private void register(int round) {
+        RegisterRequest request = RegisterRequest.builder()
+                .email("warmup-" + UUID.randomUUID() + "@warmup.invalid")
+                .password("warmup-password-" + round)
+                .firstName("Warm")
+                .lastName("Up")
+                .ntrpLevel(NtrpLevel.INTERMEDIATE_3_5)
+                .homeTown(TOWNS[round % TOWNS.length])
+                .age(30)
+                .sex(Sex.PREFER_NOT_TO_SAY)
+                .build();
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.registerUser(request);
+            status.setRollbackOnly();
+        });
+    }
+}
@@ -0,0 +1,95 @@
+package com.tennismatch.matchapp.stats;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Corrects counts kept in memory against counts taken from the database, without losing or doubling
+ * changes committed while the database is being counted.
+ * <p>
+ * In-memory counts are moved by listeners after each commit. Whether a pass's database query sees a
+ * change depends on when the change commits, and whether its snapshot of the memory does on when the
+ * listener runs, so a pass cannot tell which side a change in flight is on: adding the difference could
+ * count it twice, overwriting could drop it. Such keys are left alone for this pass and corrected by the
+ * next one; all other keys get the difference between the database and the snapshot. A key is in flight
+ * from {@link #changing} inside its transaction, before the commit, until the transaction has completed,
+ * and is treated as changed by every pass running in that time.
+ * <p>
+ * This holds as long as {@link #changing} is called before the commit and the count is moved before the
+ * transaction completes (after-commit listeners run first). Changes made outside a transaction must call
+ * {@link #changed} once applied instead.
+ *
+ * @param <K> key of one count
+ */
+public final class CountReconciler<K> {
+
+    private final Set<K> changed = ConcurrentHashMap.newKeySet();
+    private final Map<K, Integer> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Marks a key whose count is about to be changed by the current transaction. Without an active
+     * transaction this does nothing, since the change is applied right away.
+     */
+    public void changing(K key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        inFlight.merge(key, 1, Integer::sum);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                changed.add(key);
+                inFlight.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+            }
+        });
+    }
+
+    /**
+     * Marks a key whose count has just been changed.
+     */
+    public void changed(K key) {
+        changed.add(key);
+    }
+
+    /**
+     * Runs one pass.
+     * @param snapshot   reads the current in-memory counts
+     * @param database   counts the database
+     * @param correction applied to every key found in either that was neither changed nor in flight
+     *                   during the pass
+     * @return the number of keys that had drifted
+     */
+    public synchronized <V> int reconcile(Supplier<Map<K, V>> snapshot, Supplier<Map<K, V>> database,
+                                          Correction<K, V> correction) {
+        changed.clear();
+        Map<K, V> before = snapshot.get();
+        Map<K, V> counted = database.get();
+        Set<K> keys = new HashSet<>(counted.keySet());
+        keys.addAll(before.keySet());
+        int drifted = 0;
+        for (K key : keys) {
+            if (!changed.contains(key) && !inFlight.containsKey(key)
+                    && correction.apply(key, before.get(key), counted.get(key))) {
+                drifted++;
+            }
+        }
+        return drifted;
+    }
+
+    @FunctionalInterface
+    public interface Correction<K, V> {
+
+        /**
+         * Adds the difference between {@code counted} and {@code seen} to the key's count; either is
+         * {@code null} when the key is missing on that side.
+         * @return whether the count had drifted
+         */
+        boolean apply(K key, V seen, V counted);
+    }
+}
@@ -0,0 +1,10 @@
+package com.tennismatch.matchapp.stats;
+
+import com.tennismatch.matchapp.model.NtrpLevel;
+import com.tennismatch.matchapp.model.ProposalStatus;
+
+/**
+ * Number of proposals in one status, made by players of one level and home town.
+ */
+public record ProposalCount(String town, NtrpLevel level, ProposalStatus status, long count) {
+}
@@ -0,0 +1,36 @@
+package com.tennismatch.matchapp.stats;
+
+import com.tennismatch.matchapp.model.NtrpLevel;
+import com.tennismatch.matchapp.model.ProposalStatus;
+import com.tennismatch.matchapp.model.Towns;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code /actuator/supplydemand}: open and matched proposals per town key and level, served from memory.
+ * {@code /actuator/supplydemand/{town}} narrows the result to one town.
+ */
+@Component
+@Endpoint(id = "supplydemand")
+public class SupplyDemandEndpoint {
+
+    private final SupplyDemandStats stats;
+
+    public SupplyDemandEndpoint(SupplyDemandStats stats) {
+        this.stats = stats;
+    }
+
+    @ReadOperation
+    public Map<String, Map<NtrpLevel, Map<ProposalStatus, Long>>> towns() {
+        return stats.byTown();
+    }
+
+    @ReadOperation
+    public Map<NtrpLevel, Map<ProposalStatus, Long>> town(@Selector String town) {
+        return stats.byTown().getOrDefault(Towns.key(town), Map.of());
+    }
+}
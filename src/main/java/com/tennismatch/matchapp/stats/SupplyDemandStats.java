@@ -0,0 +1,153 @@
+package com.tennismatch.matchapp.stats;
+
+import com.tennismatch.matchapp.model.NtrpLevel;
+import com.tennismatch.matchapp.model.ProposalStatus;
+import com.tennismatch.matchapp.model.Towns;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Live number of open and matched proposals per town and NTRP level.
+ * <p>
+ * Every combination has its own {@link LongAdder}, so concurrent updates neither lock nor contend on a
+ * single counter. Counts are moved on each status change ({@link #transition}) and corrected against the
+ * database by {@link #reconcile}; a change about to commit is announced by {@link #changing} first.
+ * <p>
+ * Towns are keyed by {@link Towns#key}. Towns are free text, so they are not exported as a tag: the gauge
+ * {@code proposals.current{level,status}} sums over all towns, and the per-town counts are served by
+ * {@link SupplyDemandEndpoint}.
+ */
+@Component
+public class SupplyDemandStats {
+
+    /** Statuses that are counted; cancelled proposals only grow and are not interesting as a gauge. */
+    public static final Set<ProposalStatus> TRACKED = EnumSet.of(ProposalStatus.OPEN, ProposalStatus.MATCHED);
+
+    private final Map<Key, LongAdder> counts = new ConcurrentHashMap<>();
+    private final CountReconciler<Key> reconciler = new CountReconciler<>();
+
+    public SupplyDemandStats(MeterRegistry meterRegistry) {
+        for (NtrpLevel level : NtrpLevel.values()) {
+            for (ProposalStatus status : TRACKED) {
+                Gauge.builder("proposals.current", this, stats -> stats.total(level, status))
+                        .description("Proposals by level of the proposer and status, over all towns")
+                        .tag("level", level.name())
+                        .tag("status", status.name())
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    /**
+     * Applies a status change of one proposal; {@code previous} is {@code null} for a new proposal.
+     */
+    public void transition(String town, NtrpLevel level, ProposalStatus previous, ProposalStatus status) {
+        if (previous == status) {
+            return;
+        }
+        if (previous != null && TRACKED.contains(previous)) {
+            Key key = new Key(Towns.key(town), level, previous);
+            counter(key).decrement();
+            reconciler.changed(key);
+        }
+        if (TRACKED.contains(status)) {
+            Key key = new Key(Towns.key(town), level, status);
+            counter(key).increment();
+            reconciler.changed(key);
+        }
+    }
+
+    /**
+     * Announces, inside its transaction, a status change that {@link #transition} applies after commit, so a
+     * reconcile pass running in between leaves the affected combinations alone.
+     */
+    public void changing(String town, NtrpLevel level, ProposalStatus previous, ProposalStatus status) {
+        if (previous == status) {
+            return;
+        }
+        if (previous != null && TRACKED.contains(previous)) {
+            reconciler.changing(new Key(Towns.key(town), level, previous));
+        }
+        if (TRACKED.contains(status)) {
+            reconciler.changing(new Key(Towns.key(town), level, status));
+        }
+    }
+
+    public long count(String town, NtrpLevel level, ProposalStatus status) {
+        LongAdder counter = counts.get(new Key(Towns.key(town), level, status));
+        return counter != null ? counter.sum() : 0;
+    }
+
+    /**
+     * Corrects the counts against the database, see {@link CountReconciler}. Combinations missing from the
+     * database are corrected to zero.
+     * @param database counts the proposals in the database
+     * @return the number of combinations that had drifted
+     */
+    public int reconcile(Supplier<List<ProposalCount>> database) {
+        return reconciler.reconcile(this::snapshot, () -> {
+            Map<Key, Long> actual = new HashMap<>();
+            for (ProposalCount count : database.get()) {
+                actual.merge(new Key(Towns.key(count.town()), count.level(), count.status()), count.count(), Long::sum);
+            }
+            return actual;
+        }, (key, seen, counted) -> {
+            long difference = (counted != null ? counted : 0L) - (seen != null ? seen : 0L);
+            if (difference == 0) {
+                return false;
+            }
+            counter(key).add(difference);
+            return true;
+        });
+    }
+
+    private Map<Key, Long> snapshot() {
+        Map<Key, Long> snapshot = new HashMap<>();
+        counts.forEach((key, counter) -> snapshot.put(key, counter.sum()));
+        return snapshot;
+    }
+
+    /**
+     * Sum over all towns.
+     */
+    public long total(NtrpLevel level, ProposalStatus status) {
+        long total = 0;
+        for (Map.Entry<Key, LongAdder> entry : counts.entrySet()) {
+            if (entry.getKey().level() == level && entry.getKey().status() == status) {
+                total += entry.getValue().sum();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Counts by town key, then level, then status, all sorted.
+     */
+    public Map<String, Map<NtrpLevel, Map<ProposalStatus, Long>>> byTown() {
+        Map<String, Map<NtrpLevel, Map<ProposalStatus, Long>>> towns = new TreeMap<>();
+        counts.forEach((key, counter) -> towns
+                .computeIfAbsent(key.town(), town -> new TreeMap<>())
+                .computeIfAbsent(key.level(), level -> new TreeMap<>())
+                .put(key.status(), counter.sum()));
+        return towns;
+    }
+
+    private LongAdder counter(Key key) {
+        LongAdder counter = counts.get(key);
+        return counter != null ? counter : counts.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    public record Key(String town, NtrpLevel level, ProposalStatus status) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.tennismatch.matchapp.stats;
+
+import com.tennismatch.matchapp.event.ProposalLifecycleEvent;
+import com.tennismatch.matchapp.repository.PlayProposalRepository;
+import com.tennismatch.matchapp.sharding.ShardQueries;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps {@link SupplyDemandStats} in line with the database.
+ * <p>
+ * Counts are loaded with one aggregate query per shard at startup and then moved by every
+ * {@link ProposalLifecycleEvent} after commit. Each event is also announced to the stats when it is
+ * published, inside its transaction, so a reconcile pass cannot count a commit in flight twice. Changes
+ * the events do not cover, made by other instances, by the archiver or by players changing their town or
+ * level, are corrected by the same aggregate query every reconcile interval.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SupplyDemandSync implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SupplyDemandSync.class);
+
+    private final SupplyDemandStats stats;
+    private final PlayProposalRepository playProposalRepository;
+    private final ShardQueries shardQueries;
+
+    public SupplyDemandSync(SupplyDemandStats stats,
+                            PlayProposalRepository playProposalRepository,
+                            ShardQueries shardQueries) {
+        this.stats = stats;
+        this.playProposalRepository = playProposalRepository;
+        this.shardQueries = shardQueries;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        reconcile();
+    }
+
+    @EventListener
+    public void onProposalChanging(ProposalLifecycleEvent event) {
+        stats.changing(event.town(), event.level(), event.previousStatus(), event.status());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProposalChanged(ProposalLifecycleEvent event) {
+        stats.transition(event.town(), event.level(), event.previousStatus(), event.status());
+    }
+
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval:PT1M}", initialDelayString = "${app.stats.reconcile-interval:PT1M}")
+    public void reconcile() {
+        int drifted = stats.reconcile(() -> shardQueries.scatter(
+                () -> playProposalRepository.countByTownAndLevel(SupplyDemandStats.TRACKED)));
+        if (drifted > 0) {
+            log.debug("Corrected {} supply and demand counts against the database", drifted);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.tennismatch.matchapp.archive;
+
+import com.tennismatch.matchapp.dto.CreateProposalRequest;
+import com.tennismatch.matchapp.dto.RegisterRequest;
+import com.tennismatch.matchapp.model.NtrpLevel;
+import com.tennismatch.matchapp.model.PlayProposal;
+import com.tennismatch.matchapp.service.PlayProposalService;
+import com.tennismatch.matchapp.service.UserService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Small batches, so a run takes several of them
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archive-test",
+        "app.archive.enabled=false",
+        "app.archive.batch-size=2",
+        "app.archive.pause-between-batches=0ms",
+        "app.outbox.dispatch-enabled=false",
+        "app.matching.enabled=false"
+})
+@AutoConfigureMockMvc
+class MatchArchiverIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MatchArchiver matchArchiver;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PlayProposalService playProposalService;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @AfterEach
+    void tearDown() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(primaryDataSource);
+        for (String table : new String[] {"archived_matches", "archived_play_proposals", "notification_outbox",
+                "matches", "play_proposals", "user_roles", "users"}) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    void archivesClosedProposalsPastTheHorizonAndKeepsThemInMatchHistory() throws Exception {
+        userService.registerUser(registration("serena@example.com"));
+        userService.registerUser(registration("venus@example.com"));
+        PlayProposal recent = playProposalService.createProposal("serena@example.com", proposalRequest());
+        playProposalService.acceptProposal(recent.getId(), "venus@example.com");
+        for (int i = 0; i < 3; i++) {
+            PlayProposal old = playProposalService.createProposal("serena@example.com", proposalRequest());
+            playProposalService.acceptProposal(old.getId(), "venus@example.com");
+            startedDaysAgo(old, 400 + i);
+        }
+        PlayProposal cancelled = playProposalService.createProposal("serena@example.com", proposalRequest());
+        playProposalService.cancelProposal(cancelled.getId(), "serena@example.com");
+        startedDaysAgo(cancelled, 300);
+        PlayProposal stillOpen = playProposalService.createProposal("serena@example.com", proposalRequest());
+        startedDaysAgo(stillOpen, 300);
+
+        int archived = matchArchiver.archive(LocalDateTime.now().minusDays(180));
+
+        assertThat(archived).isEqualTo(4);
+        assertThat(count("play_proposals")).isEqualTo(2);
+        assertThat(count("matches")).isEqualTo(1);
+        assertThat(count("archived_play_proposals")).isEqualTo(4);
+        assertThat(count("archived_matches")).isEqualTo(3);
+        assertThat(matchArchiver.archive(LocalDateTime.now().minusDays(180))).isZero();
+
+        mockMvc.perform(get("/api/matches/mine").with(user("venus@example.com")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].proposalId").value(recent.getId()))
+                .andExpect(jsonPath("$[0].archived").value(false))
+                .andExpect(jsonPath("$[1].archived").value(true))
+                .andExpect(jsonPath("$[3].archived").value(true));
+    }
+
+    @Test
+    void skipsProposalsLockedByAnotherArchiver() throws Exception {
+        userService.registerUser(registration("serena@example.com"));
+        PlayProposal locked = playProposalService.createProposal("serena@example.com", proposalRequest());
+        playProposalService.cancelProposal(locked.getId(), "serena@example.com");
+        startedDaysAgo(locked, 300);
+        PlayProposal free = playProposalService.createProposal("serena@example.com", proposalRequest());
+        playProposalService.cancelProposal(free.getId(), "serena@example.com");
+        startedDaysAgo(free, 300);
+
+        // Another instance's batch holding its row lock
+        try (Connection other = primaryDataSource.getConnection()) {
+            other.setAutoCommit(false);
+            try (PreparedStatement claim = other.prepareStatement("SELECT id FROM play_proposals WHERE id = ? FOR UPDATE")) {
+                claim.setLong(1, locked.getId());
+                claim.executeQuery().close();
+            }
+
+            assertThat(matchArchiver.archive(LocalDateTime.now().minusDays(180))).isEqualTo(1);
+            other.rollback();
+        }
+
+        assertThat(new JdbcTemplate(primaryDataSource).queryForList("SELECT id FROM archived_play_proposals", Long.class))
+                .containsExactly(free.getId());
+        assertThat(matchArchiver.archive(LocalDateTime.now().minusDays(180))).isEqualTo(1);
+    }
+
+    @Test
+    void matchHistoryListsAMatchOnceWhileItsBatchIsBeingArchived() throws Exception {
+        userService.registerUser(registration("serena@example.com"));
+        userService.registerUser(registration("venus@example.com"));
+        PlayProposal played = playProposalService.createProposal("serena@example.com", proposalRequest());
+        playProposalService.acceptProposal(played.getId(), "venus@example.com");
+        startedDaysAgo(played, 10);
+        // What the archive read sees when a batch commits after the hot read: the rows in both places
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(primaryDataSource);
+        jdbcTemplate.update("INSERT INTO archived_play_proposals (id, proposer_id, proposed_start_time, proposed_end_time,"
+                + " location_details, notes, status, created_at, updated_at, archived_at)"
+                + " SELECT id, user_id, proposed_start_time, proposed_end_time, location_details, notes, status,"
+                + " created_at, updated_at, CURRENT_TIMESTAMP FROM play_proposals");
+        jdbcTemplate.update("INSERT INTO archived_matches (id, proposal_id, proposer_id, requester_id, status,"
+                + " proposed_start_time, created_at, updated_at, archived_at)"
+                + " SELECT m.id, p.id, p.user_id, m.requesting_user_id, m.status, p.proposed_start_time,"
+                + " m.created_at, m.updated_at, CURRENT_TIMESTAMP FROM matches m JOIN play_proposals p ON p.id = m.proposal_id");
+
+        mockMvc.perform(get("/api/matches/mine").with(user("venus@example.com")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].proposalId").value(played.getId()))
+                .andExpect(jsonPath("$[0].archived").value(false));
+    }
+
+    private void startedDaysAgo(PlayProposal proposal, int days) {
+        LocalDateTime start = LocalDateTime.now().minusDays(days);
+        new JdbcTemplate(primaryDataSource).update(
+                "UPDATE play_proposals SET proposed_start_time = ?, proposed_end_time = ? WHERE id = ?",
+                start, start.plusHours(1), proposal.getId());
+    }
+
+    private long count(String table) {
+        return new JdbcTemplate(primaryDataSource).queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private RegisterRequest registration(String email) {
+        return RegisterRequest.builder()
+                .email(email)
+                .password("password123Valid")
+                .firstName("Test")
+                .lastName("User")
+                .ntrpLevel(NtrpLevel.INTERMEDIATE_3_5)
+                .homeTown("Compton")
+                .build();
+    }
+
+    private CreateProposalRequest proposalRequest() {
+        return CreateProposalRequest.builder()
+                .proposedStartTime(LocalDateTime.now().plusDays(2))
+                .proposedEndTime(LocalDateTime.now().plusDays(2).plusHours(1))
+                .locationDetails("Municipal courts")
+                .build();
+    }
+}
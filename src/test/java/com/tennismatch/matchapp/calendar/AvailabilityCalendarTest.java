@@ -0,0 +1,85 @@
+package com.tennismatch.matchapp.calendar;
+
+import com.tennismatch.matchapp.model.NtrpLevel;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AvailabilityCalendarTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2030, 6, 3);
+
+    private final AvailabilityCalendar calendar = new AvailabilityCalendar();
+
+    @Test
+    void countsProposalsPerDayTimeOfDayAndLevel() {
+        calendar.add("Springfield", NtrpLevel.INTERMEDIATE_3_5, MONDAY.atTime(11, 59), 1);
+        calendar.add("springfield ", NtrpLevel.INTERMEDIATE_3_5, MONDAY.atTime(12, 0), 1);
+        calendar.add("Springfield", NtrpLevel.INTERMEDIATE_3_5, MONDAY.atTime(17, 0), 1);
+        calendar.add("Springfield", NtrpLevel.INTERMEDIATE_3_5, MONDAY.atTime(20, 30), 1);
+        calendar.add("Springfield", NtrpLevel.ADVANCED_4_0, MONDAY.atTime(19, 0), 1);
+        calendar.add("Springfield", NtrpLevel.ADVANCED_4_0, MONDAY.plusDays(1).atTime(19, 0), 1);
+        calendar.add("Springfield", NtrpLevel.ADVANCED_4_0, MONDAY.plusDays(1).atTime(19, 0), -1);
+
+        Map<LocalDate, Map<TimeOfDay, Map<NtrpLevel, Integer>>> week =
+                calendar.range("SPRINGFIELD", MONDAY, MONDAY.plusDays(6), null);
+
+        assertThat(week).containsOnlyKeys(MONDAY);
+        assertThat(week.get(MONDAY).get(TimeOfDay.MORNING)).containsExactly(Map.entry(NtrpLevel.INTERMEDIATE_3_5, 1));
+        assertThat(week.get(MONDAY).get(TimeOfDay.AFTERNOON)).containsExactly(Map.entry(NtrpLevel.INTERMEDIATE_3_5, 1));
+        assertThat(week.get(MONDAY).get(TimeOfDay.EVENING))
+                .containsOnly(Map.entry(NtrpLevel.INTERMEDIATE_3_5, 2), Map.entry(NtrpLevel.ADVANCED_4_0, 1));
+        assertThat(calendar.range("Springfield", MONDAY, MONDAY, NtrpLevel.ADVANCED_4_0).get(MONDAY))
+                .containsOnlyKeys(TimeOfDay.EVENING);
+        assertThat(calendar.range("Shelbyville", MONDAY, MONDAY, null)).isEmpty();
+    }
+
+    @Test
+    void reconcileCorrectsDriftButLeavesDaysChangedWhileCountingForTheNextPass() {
+        calendar.add("Springfield", NtrpLevel.INTERMEDIATE_3_5, MONDAY.atTime(18, 0), 1);
+        calendar.add("Springfield", NtrpLevel.INTERMEDIATE_3_5, MONDAY.plusDays(1).atTime(18, 0), 1);
+        calendar.add("Springfield", NtrpLevel.INTERMEDIATE_3_5, MONDAY.plusDays(2).atTime(18, 0), 1);
+
+        int drifted = calendar.reconcile(() -> {
+            // Committed while the database was counted, and seen by the query: it must not be added twice
+            calendar.add("Springfield", NtrpLevel.INTERMEDIATE_3_5, MONDAY.plusDays(2).atTime(9, 0), 1);
+            return List.of(
+                    new CalendarCount("Springfield", NtrpLevel.INTERMEDIATE_3_5, MONDAY, 18, 3),
+                    new CalendarCount("Springfield", NtrpLevel.INTERMEDIATE_3_5, MONDAY, 19, 1),
+                    new CalendarCount("Springfield", NtrpLevel.INTERMEDIATE_3_5, MONDAY.plusDays(2), 9, 1),
+                    new CalendarCount("Springfield", NtrpLevel.INTERMEDIATE_3_5, MONDAY.plusDays(2), 18, 2));
+        }, MONDAY);
+
+        assertThat(drifted).isEqualTo(2);
+        Map<TimeOfDay, Map<NtrpLevel, Integer>> monday = calendar.range("Springfield", MONDAY, MONDAY, null).get(MONDAY);
+        assertThat(monday.get(TimeOfDay.EVENING)).containsExactly(Map.entry(NtrpLevel.INTERMEDIATE_3_5, 4));
+        assertThat(calendar.range("Springfield", MONDAY.plusDays(1), MONDAY.plusDays(1), null)).isEmpty();
+        Map<TimeOfDay, Map<NtrpLevel, Integer>> wednesday =
+                calendar.range("Springfield", MONDAY.plusDays(2), MONDAY.plusDays(2), null).get(MONDAY.plusDays(2));
+        assertThat(wednesday.get(TimeOfDay.MORNING)).containsExactly(Map.entry(NtrpLevel.INTERMEDIATE_3_5, 1));
+        assertThat(wednesday.get(TimeOfDay.EVENING)).containsExactly(Map.entry(NtrpLevel.INTERMEDIATE_3_5, 1));
+
+        calendar.reconcile(() -> List.of(
+                new CalendarCount("Springfield", NtrpLevel.INTERMEDIATE_3_5, MONDAY, 18, 3),
+                new CalendarCount("Springfield", NtrpLevel.INTERMEDIATE_3_5, MONDAY, 19, 1),
+                new CalendarCount("Springfield", NtrpLevel.INTERMEDIATE_3_5, MONDAY.plusDays(2), 9, 1),
+                new CalendarCount("Springfield", NtrpLevel.INTERMEDIATE_3_5, MONDAY.plusDays(2), 18, 2)), MONDAY);
+        assertThat(calendar.range("Springfield", MONDAY.plusDays(2), MONDAY.plusDays(2), null)
+                .get(MONDAY.plusDays(2)).get(TimeOfDay.EVENING)).containsExactly(Map.entry(NtrpLevel.INTERMEDIATE_3_5, 2));
+    }
+
+    @Test
+    void pruneDropsPastDays() {
+        calendar.add("Springfield", NtrpLevel.INTERMEDIATE_3_5, MONDAY.atTime(18, 0), 1);
+        calendar.add("Springfield", NtrpLevel.INTERMEDIATE_3_5, MONDAY.plusDays(1).atTime(18, 0), 1);
+
+        calendar.prune(MONDAY.plusDays(1));
+
+        assertThat(calendar.dayCount()).isEqualTo(1);
+        assertThat(calendar.range("Springfield", MONDAY, MONDAY.plusDays(1), null)).containsOnlyKeys(MONDAY.plusDays(1));
+    }
+}
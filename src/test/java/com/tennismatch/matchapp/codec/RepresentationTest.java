@@ -0,0 +1,30 @@
+package com.tennismatch.matchapp.codec;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepresentationTest {
+
+    @Test
+    void negotiate_FollowsQualityAndSpecificity() {
+        assertThat(Representation.negotiate(null)).isEqualTo(Representation.JSON);
+        assertThat(Representation.negotiate("*/*")).isEqualTo(Representation.JSON);
+        assertThat(Representation.negotiate("application/cbor")).isEqualTo(Representation.CBOR);
+        assertThat(Representation.negotiate("*/*, application/x-jackson-smile")).isEqualTo(Representation.SMILE);
+        assertThat(Representation.negotiate("application/cbor;q=0.5, application/json")).isEqualTo(Representation.JSON);
+        assertThat(Representation.negotiate("application/cbor;q=0, */*;q=0.1")).isEqualTo(Representation.JSON);
+        assertThat(Representation.negotiate("not a media type")).isEqualTo(Representation.JSON);
+    }
+
+    @Test
+    void tags_AreSuffixedPerEncodingAndReversible() {
+        String etag = "\"proposals-1a-2\"";
+
+        assertThat(Representation.JSON.tag(etag)).isEqualTo(etag);
+        assertThat(Representation.CBOR.tag(etag)).isEqualTo("\"proposals-1a-2-cbor\"");
+        assertThat(Representation.untag(Representation.SMILE.tag(etag))).isEqualTo(etag);
+        assertThat(Representation.of(MediaType.APPLICATION_CBOR)).isEqualTo(Representation.CBOR);
+    }
+}
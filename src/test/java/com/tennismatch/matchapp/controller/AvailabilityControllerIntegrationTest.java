@@ -0,0 +1,126 @@
+package com.tennismatch.matchapp.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tennismatch.matchapp.dto.AvailabilityRequest;
+import com.tennismatch.matchapp.dto.RegisterRequest;
+import com.tennismatch.matchapp.matching.AutoMatchScheduler;
+import com.tennismatch.matchapp.model.NtrpLevel;
+import com.tennismatch.matchapp.repository.AvailabilityWindowRepository;
+import com.tennismatch.matchapp.repository.MatchRepository;
+import com.tennismatch.matchapp.repository.PlayProposalRepository;
+import com.tennismatch.matchapp.repository.UserRepository;
+import com.tennismatch.matchapp.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// No scheduled matching: windows stay open until a test runs a pass itself
+@SpringBootTest(properties = "app.matching.enabled=false")
+@AutoConfigureMockMvc
+class AvailabilityControllerIntegrationTest {
+
+    private static final LocalDateTime TOMORROW = LocalDateTime.now().plusDays(1).toLocalDate().atStartOfDay();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AvailabilityWindowRepository availabilityWindowRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private PlayProposalRepository playProposalRepository;
+
+    @Autowired
+    private AutoMatchScheduler autoMatchScheduler;
+
+    @BeforeEach
+    void setUp() {
+        userService.registerUser(registration("serena@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        availabilityWindowRepository.deleteAll();
+        matchRepository.deleteAll();
+        playProposalRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void addWindow_RejectsOverlapWithAnOpenWindowButAllowsAdjacentOnes() throws Exception {
+        addWindow("serena@example.com", 9, 12).andExpect(status().isCreated());
+
+        addWindow("serena@example.com", 11, 13).andExpect(status().isConflict());
+        addWindow("serena@example.com", 8, 14).andExpect(status().isConflict());
+        addWindow("serena@example.com", 12, 14).andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/availability/mine").with(user("serena@example.com")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void matchingPass_BooksPairedWindowsAsAcceptedMatches() throws Exception {
+        userService.registerUser(registration("venus@example.com"));
+        addWindow("serena@example.com", 9, 12).andExpect(status().isCreated());
+        addWindow("venus@example.com", 10, 13).andExpect(status().isCreated());
+
+        assertThat(autoMatchScheduler.runPass()).isEqualTo(1);
+
+        mockMvc.perform(get("/api/matches/mine").with(user("venus@example.com")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].status").value("ACCEPTED"));
+        mockMvc.perform(get("/api/availability/mine").with(user("serena@example.com")))
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    private ResultActions addWindow(String email, int fromHour, int toHour) throws Exception {
+        AvailabilityRequest request = AvailabilityRequest.builder()
+                .startTime(TOMORROW.withHour(fromHour))
+                .endTime(TOMORROW.withHour(toHour))
+                .build();
+        return mockMvc.perform(post("/api/availability")
+                .with(user(email))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+
+    private RegisterRequest registration(String email) {
+        return RegisterRequest.builder()
+                .email(email)
+                .password("password123Valid")
+                .firstName("Test")
+                .lastName("User")
+                .ntrpLevel(NtrpLevel.INTERMEDIATE_3_5)
+                .homeTown("Springfield")
+                .build();
+    }
+}
@@ -0,0 +1,394 @@
+package com.tennismatch.matchapp.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.tennismatch.matchapp.dto.CreateProposalRequest;
+import com.tennismatch.matchapp.dto.RegisterRequest;
+import com.tennismatch.matchapp.dto.UpdateProposalRequest;
+import com.tennismatch.matchapp.model.NtrpLevel;
+import com.tennismatch.matchapp.model.PlayProposal;
+import com.tennismatch.matchapp.repository.MatchRepository;
+import com.tennismatch.matchapp.repository.PlayProposalRepository;
+import com.tennismatch.matchapp.repository.UserRepository;
+import com.tennismatch.matchapp.service.PlayProposalService;
+import com.tennismatch.matchapp.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static com.tennismatch.matchapp.querystats.QueryCountMatchers.maxQueries;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not @Transactional: the search index and calendar follow changes after commit, which a rolled-back test
+// transaction never reaches
+@SpringBootTest
+@AutoConfigureMockMvc
+class PlayProposalControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PlayProposalService playProposalService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlayProposalRepository playProposalRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @BeforeEach
+    void setUp() {
+        userService.registerUser(registration("proposer@example.com", "Krakow"));
+        userService.registerUser(registration("requester@example.com", "Krakow"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        matchRepository.deleteAll();
+        playProposalRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void createProposal_Success() throws Exception {
+        mockMvc.perform(post("/api/match-proposals")
+                        .with(user("proposer@example.com"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(proposalRequest())))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("OPEN"))
+                .andExpect(jsonPath("$.homeTown").value("Krakow"));
+    }
+
+    @Test
+    void createProposal_Unauthenticated() throws Exception {
+        mockMvc.perform(post("/api/match-proposals")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(proposalRequest())))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void search_RevalidatesWithEtagUntilListChanges() throws Exception {
+        PlayProposal proposal = playProposalService.createProposal("proposer@example.com", proposalRequest());
+
+        String etag = mockMvc.perform(get("/api/match-proposals/search").param("town", "Krakow"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+
+        mockMvc.perform(get("/api/match-proposals/search").param("town", "Krakow")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/api/match-proposals/{id}/accept", proposal.getId())
+                        .with(user("requester@example.com")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("ACCEPTED"));
+
+        mockMvc.perform(get("/api/match-proposals/search").param("town", "Krakow")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void search_MatchesTownByKeyWithAndWithoutTextAndSharesItsEtag() throws Exception {
+        PlayProposal proposal = playProposalService.createProposal("proposer@example.com", proposalRequest());
+
+        String etag = mockMvc.perform(get("/api/match-proposals/search").param("town", " krakow"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/match-proposals/search").param("town", "KRAKOW").param("q", "jord"))
+                .andExpect(jsonPath("$.length()").value(1));
+        mockMvc.perform(get("/api/match-proposals/search").param("town", "Krakow")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/api/match-proposals/{id}/cancel", proposal.getId())
+                        .with(user("proposer@example.com")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/match-proposals/search").param("town", " krakow")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void search_EtagFollowsChangesMadeByOtherInstances() throws Exception {
+        PlayProposal proposal = playProposalService.createProposal("proposer@example.com", proposalRequest());
+        String etag = mockMvc.perform(get("/api/match-proposals/search").param("town", "Krakow"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Written straight to the database, so no event reaches this instance
+        PlayProposal stored = playProposalRepository.findById(proposal.getId()).orElseThrow();
+        stored.setNotes("Edited elsewhere");
+        playProposalRepository.save(stored);
+
+        mockMvc.perform(get("/api/match-proposals/search").param("town", "Krakow")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].notes").value("Edited elsewhere"));
+    }
+
+    @Test
+    void search_EncodesCborWhenAcceptedWithItsOwnEtag() throws Exception {
+        PlayProposal proposal = playProposalService.createProposal("proposer@example.com", proposalRequest());
+
+        MvcResult json = mockMvc.perform(get("/api/match-proposals/search").param("town", "Krakow"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn();
+        MvcResult cbor = mockMvc.perform(get("/api/match-proposals/search").param("town", "Krakow")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_CBOR_VALUE))
+                .andReturn();
+
+        JsonNode decoded = new CBORMapper().readTree(cbor.getResponse().getContentAsByteArray());
+        assertThat(decoded.get(0).get("id").asLong()).isEqualTo(proposal.getId());
+        assertThat(decoded.get(0).get("locationDetails").asText()).isEqualTo("Park Jordana, court 3");
+        assertThat(cbor.getResponse().getContentAsByteArray().length)
+                .isLessThan(json.getResponse().getContentAsByteArray().length);
+
+        String jsonEtag = json.getResponse().getHeader(HttpHeaders.ETAG);
+        String cborEtag = cbor.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(cborEtag).isNotEqualTo(jsonEtag).endsWith("-cbor\"");
+        mockMvc.perform(get("/api/match-proposals/search").param("town", "Krakow")
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, cborEtag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/match-proposals/search").param("town", "Krakow")
+                        .header(HttpHeaders.IF_NONE_MATCH, cborEtag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getProposal_RevalidatesWithEtagUntilProposalChanges() throws Exception {
+        PlayProposal proposal = playProposalService.createProposal("proposer@example.com", proposalRequest());
+
+        String etag = mockMvc.perform(get("/api/match-proposals/{id}", proposal.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/match-proposals/{id}", proposal.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/api/match-proposals/{id}/cancel", proposal.getId())
+                        .with(user("proposer@example.com")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CANCELLED"));
+
+        mockMvc.perform(get("/api/match-proposals/{id}", proposal.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void searchWithText_FollowsEditsAndCancellation() throws Exception {
+        PlayProposal proposal = playProposalService.createProposal("proposer@example.com", proposalRequest());
+
+        mockMvc.perform(get("/api/match-proposals/search").param("town", "Krakow").param("q", "jord"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(proposal.getId()));
+
+        mockMvc.perform(put("/api/match-proposals/{id}", proposal.getId())
+                        .with(user("proposer@example.com"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(UpdateProposalRequest.builder()
+                                .notes("Bring new balls")
+                                .build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.notes").value("Bring new balls"));
+
+        mockMvc.perform(get("/api/match-proposals/search").param("town", "Krakow").param("q", "ball"))
+                .andExpect(jsonPath("$.length()").value(1));
+        mockMvc.perform(get("/api/match-proposals/search").param("town", "Krakow").param("q", "friendly"))
+                .andExpect(jsonPath("$.length()").value(0));
+
+        mockMvc.perform(put("/api/match-proposals/{id}/cancel", proposal.getId())
+                        .with(user("proposer@example.com")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/match-proposals/search").param("town", "Krakow").param("q", "jord"))
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void calendar_FollowsProposalLifecycle() throws Exception {
+        // A town of its own, so counts left behind by other tests cannot interfere
+        userService.registerUser(registration("poznan@example.com", "Poznan"));
+        LocalDate evening = LocalDate.now().plusDays(3);
+        LocalDate morning = evening.plusDays(1);
+        PlayProposal proposal = playProposalService.createProposal("poznan@example.com", CreateProposalRequest.builder()
+                .proposedStartTime(evening.atTime(18, 0))
+                .locationDetails("Park Cytadela")
+                .build());
+
+        mockMvc.perform(get("/api/calendar").param("town", "poznan").param("from", evening.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.town").value("poznan"))
+                .andExpect(jsonPath("$.openProposals['" + evening + "'].EVENING.INTERMEDIATE_3_5").value(1));
+
+        mockMvc.perform(put("/api/match-proposals/{id}", proposal.getId())
+                        .with(user("poznan@example.com"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(UpdateProposalRequest.builder()
+                                .proposedStartTime(morning.atTime(LocalTime.of(9, 30)))
+                                .build())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/calendar").param("town", "Poznan").param("from", evening.toString()))
+                .andExpect(jsonPath("$.openProposals.length()").value(1))
+                .andExpect(jsonPath("$.openProposals['" + morning + "'].MORNING.INTERMEDIATE_3_5").value(1));
+
+        playProposalService.cancelProposal(proposal.getId(), "poznan@example.com");
+
+        mockMvc.perform(get("/api/calendar").param("town", "Poznan").param("from", evening.toString()))
+                .andExpect(jsonPath("$.openProposals.length()").value(0));
+        mockMvc.perform(get("/api/calendar").param("town", "Poznan").param("days", "60"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void updateProposal_OnlyByProposer() throws Exception {
+        PlayProposal proposal = playProposalService.createProposal("proposer@example.com", proposalRequest());
+
+        mockMvc.perform(put("/api/match-proposals/{id}", proposal.getId())
+                        .with(user("requester@example.com"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(UpdateProposalRequest.builder()
+                                .locationDetails("Somewhere else")
+                                .build())))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void myMatches_LoadsPlayersWithoutQueryPerMatch() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            String requester = "opponent" + i + "@example.com";
+            userService.registerUser(registration(requester, "Krakow"));
+            PlayProposal proposal = playProposalService.createProposal("proposer@example.com", proposalRequest());
+            playProposalService.acceptProposal(proposal.getId(), requester);
+        }
+
+        mockMvc.perform(get("/api/matches/mine").with(user("proposer@example.com")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(maxQueries(6));
+    }
+
+    @Test
+    void myMatches_PagesWithCursorInTimeframeOrder() throws Exception {
+        for (int days = 3; days >= 1; days--) {
+            PlayProposal proposal = playProposalService.createProposal("proposer@example.com", CreateProposalRequest.builder()
+                    .proposedStartTime(LocalDateTime.now().plusDays(days))
+                    .locationDetails("Court " + days)
+                    .build());
+            playProposalService.acceptProposal(proposal.getId(), "requester@example.com");
+        }
+
+        MvcResult first = mockMvc.perform(get("/api/matches/mine").param("when", "UPCOMING").param("limit", "2")
+                        .with(user("requester@example.com")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].locationDetails").value("Court 1"))
+                .andExpect(jsonPath("$[1].locationDetails").value("Court 2"))
+                .andExpect(jsonPath("$[0].proposingUserName").value("Test User"))
+                .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+                .andExpect(maxQueries(4))
+                .andReturn();
+        String link = first.getResponse().getHeader(HttpHeaders.LINK);
+        String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+
+        mockMvc.perform(get(next).with(user("requester@example.com")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].locationDetails").value("Court 3"))
+                .andExpect(header().doesNotExist(HttpHeaders.LINK));
+        mockMvc.perform(get("/api/matches/mine").param("when", "PAST").with(user("requester@example.com")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/api/matches/mine").param("cursor", "not-a-cursor").with(user("requester@example.com")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void acceptProposal_OwnProposal() throws Exception {
+        PlayProposal proposal = playProposalService.createProposal("proposer@example.com", proposalRequest());
+
+        mockMvc.perform(put("/api/match-proposals/{id}/accept", proposal.getId())
+                        .with(user("proposer@example.com")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getProfile_RevalidatesWithEtag() throws Exception {
+        Long id = userRepository.findByEmail("proposer@example.com").orElseThrow().getId();
+
+        String etag = mockMvc.perform(get("/api/users/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.homeTown").value("Krakow"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/users/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    private RegisterRequest registration(String email, String town) {
+        return RegisterRequest.builder()
+                .email(email)
+                .password("password123Valid")
+                .firstName("Test")
+                .lastName("User")
+                .ntrpLevel(NtrpLevel.INTERMEDIATE_3_5)
+                .homeTown(town)
+                .build();
+    }
+
+    private CreateProposalRequest proposalRequest() {
+        return CreateProposalRequest.builder()
+                .proposedStartTime(LocalDateTime.now().plusDays(2))
+                .proposedEndTime(LocalDateTime.now().plusDays(2).plusHours(1))
+                .locationDetails("Park Jordana, court 3")
+                .notes("Friendly hit")
+                .build();
+    }
+}
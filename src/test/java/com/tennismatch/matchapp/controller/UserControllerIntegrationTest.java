@@ -2,6 +2,7 @@ package com.tennismatch.matchapp.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tennismatch.matchapp.dto.RegisterRequest;
+import com.tennismatch.matchapp.idempotency.IdempotencyFilter;
 import com.tennismatch.matchapp.model.NtrpLevel;
 import com.tennismatch.matchapp.repository.UserRepository;
 import com.tennismatch.matchapp.service.UserService;
@@ -14,6 +15,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -57,6 +59,39 @@ class UserControllerIntegrationTest {
                 .andExpect(content().string("User registered successfully!"));
     }
 
+    @Test
+    void registerUser_RetryWithIdempotencyKeyReplaysFirstResponse() throws Exception {
+        String body = objectMapper.writeValueAsString(RegisterRequest.builder()
+                .email("retry@example.com")
+                .password("password123Valid")
+                .firstName("Test")
+                .lastName("User")
+                .ntrpLevel(NtrpLevel.INTERMEDIATE_3_0)
+                .homeTown("Testville")
+                .build());
+
+        mockMvc.perform(post("/api/auth/register")
+                        .header(IdempotencyFilter.HEADER, "register-retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER));
+
+        mockMvc.perform(post("/api/auth/register")
+                        .header(IdempotencyFilter.HEADER, "register-retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(content().string("User registered successfully!"));
+
+        mockMvc.perform(post("/api/auth/register")
+                        .header(IdempotencyFilter.HEADER, "register-retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body.replace("Testville", "Otherville")))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
     @Test
     void registerUser_DuplicateEmail() throws Exception {
         RegisterRequest registrationDto1 = RegisterRequest.builder()
@@ -0,0 +1,131 @@
+package com.tennismatch.matchapp.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaNode replicaOne;
+    private ReplicaNode replicaTwo;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        replicaOne = new ReplicaNode("replica-1", database("replica-1"));
+        replicaTwo = new ReplicaNode("replica-2", database("replica-2"));
+
+        DataSource routing = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, List.of(replicaOne, replicaTwo)));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        jdbcTemplate = new JdbcTemplate(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    void readWriteTransactions_GoToPrimary() {
+        assertThat(readWrite.execute(status -> currentNode())).isEqualTo("primary");
+        assertThat(currentNode()).isEqualTo("primary");
+    }
+
+    @Test
+    void readOnlyTransactions_AlternateBetweenReplicas() {
+        List<String> nodes = List.of(
+                readOnly.execute(status -> currentNode()),
+                readOnly.execute(status -> currentNode()),
+                readOnly.execute(status -> currentNode()),
+                readOnly.execute(status -> currentNode()));
+
+        assertThat(nodes).containsOnly("replica-1", "replica-2");
+        assertThat(nodes.get(0)).isNotEqualTo(nodes.get(1));
+        assertThat(replicaOne.routedCount()).isEqualTo(2);
+        assertThat(replicaTwo.routedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void readOnlyTransactions_SkipUnhealthyReplicas() {
+        replicaOne.markUnhealthy();
+
+        assertThat(readOnly.execute(status -> currentNode())).isEqualTo("replica-2");
+        assertThat(readOnly.execute(status -> currentNode())).isEqualTo("replica-2");
+    }
+
+    @Test
+    void readOnlyTransactions_FallBackToPrimaryWithoutHealthyReplicas() {
+        replicaOne.markUnhealthy();
+        replicaTwo.markUnhealthy();
+
+        assertThat(readOnly.execute(status -> currentNode())).isEqualTo("primary");
+    }
+
+    @Test
+    void perCallCredentials_AreRoutedLikeOtherConnections() throws Exception {
+        DataSource routing = new ReplicaRoutingDataSource(database("primary"), List.of(replicaOne));
+
+        assertThat(nodeOf(routing.getConnection("sa", ""))).isEqualTo("primary");
+        assertThat(readOnly.execute(status -> {
+            try {
+                return nodeOf(routing.getConnection("sa", ""));
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        })).isEqualTo("replica-1");
+    }
+
+    @Test
+    void healthMonitor_TakesLaggingReplicaOutOfRotationUntilItCatchesUp() {
+        ReplicaHealthMonitor monitor = new ReplicaHealthMonitor(List.of(replicaOne),
+                new ReadReplicaProperties(List.of(), Duration.ofSeconds(5), "SELECT lag FROM replication_lag", Duration.ofSeconds(10), false));
+        JdbcTemplate replica = new JdbcTemplate(replicaOne.dataSource());
+
+        replica.update("UPDATE replication_lag SET lag = 30");
+        monitor.checkAll();
+        assertThat(replicaOne.isHealthy()).isFalse();
+
+        replica.update("UPDATE replication_lag SET lag = 1");
+        monitor.checkAll();
+        assertThat(replicaOne.isHealthy()).isTrue();
+        assertThat(replicaOne.lagSeconds()).isEqualTo(1.0);
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static String nodeOf(Connection connection) throws SQLException {
+        try (connection; ResultSet rs = connection.createStatement().executeQuery("SELECT name FROM node")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbc.execute("DELETE FROM node");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS replication_lag (lag DOUBLE)");
+        jdbc.execute("DELETE FROM replication_lag");
+        jdbc.execute("INSERT INTO replication_lag VALUES (0)");
+        return dataSource;
+    }
+}
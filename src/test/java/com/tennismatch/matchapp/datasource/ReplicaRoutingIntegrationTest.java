@@ -0,0 +1,81 @@
+package com.tennismatch.matchapp.datasource;
+
+import com.tennismatch.matchapp.dto.RegisterRequest;
+import com.tennismatch.matchapp.model.NtrpLevel;
+import com.tennismatch.matchapp.repository.UserRepository;
+import com.tennismatch.matchapp.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The replicas profile's setup on databases of its own: one replica linked to the primary
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-app;DB_CLOSE_DELAY=-1",
+        "app.datasource.replicas[0].url=jdbc:h2:mem:routing-app-replica;DB_CLOSE_DELAY=-1",
+        "app.datasource.link-to-primary=true",
+        "app.datasource.lag-query=SELECT lag FROM replication_lag",
+        "app.outbox.dispatch-enabled=false",
+        "app.matching.enabled=false"
+})
+class ReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReplicaHealthMonitor replicaHealthMonitor;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void readOnlyJpaTransactionsReadFromTheReplica() {
+        ReplicaNode replica = replicaHealthMonitor.getReplicas().get(0);
+        userService.registerUser(registration("serena@example.com"));
+        long routed = replica.routedCount();
+
+        // UserServiceImpl.findByEmail is @Transactional(readOnly = true), run by the JpaTransactionManager
+        assertThat(userService.findByEmail("serena@example.com")).isPresent();
+
+        assertThat(replica.routedCount()).isEqualTo(routed + 1);
+    }
+
+    @Test
+    void laggingReplicaIsLeftOutAndReadsGoToThePrimary() {
+        ReplicaNode replica = replicaHealthMonitor.getReplicas().get(0);
+        userService.registerUser(registration("venus@example.com"));
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica.dataSource());
+        replicaJdbc.update("UPDATE replication_lag SET lag = 60");
+        try {
+            replicaHealthMonitor.checkAll();
+            long routed = replica.routedCount();
+
+            assertThat(userService.findByEmail("venus@example.com")).isPresent();
+
+            assertThat(replica.routedCount()).isEqualTo(routed);
+        } finally {
+            replicaJdbc.update("UPDATE replication_lag SET lag = 0");
+            replicaHealthMonitor.checkAll();
+        }
+    }
+
+    private RegisterRequest registration(String email) {
+        return RegisterRequest.builder()
+                .email(email)
+                .password("password123Valid")
+                .firstName("Test")
+                .lastName("User")
+                .ntrpLevel(NtrpLevel.INTERMEDIATE_3_5)
+                .homeTown("Springfield")
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.tennismatch.matchapp.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyStoreTest {
+
+    private static final StoredResponse CREATED = new StoredResponse(201, "text/plain", Map.of(), new byte[]{1});
+
+    private final MutableClock clock = new MutableClock();
+    private final IdempotencyStore store = new IdempotencyStore(Duration.ofMinutes(10), 2, clock);
+
+    @Test
+    void duplicatesShareTheInFlightEntryAndSeeItsResponse() {
+        assertThat(store.claim("a", "f")).isNull();
+        IdempotencyStore.Entry duplicate = store.claim("a", "f");
+
+        assertThat(duplicate).isNotNull();
+        assertThat(duplicate.getResponse()).isNotDone();
+        store.complete("a", CREATED);
+        assertThat(duplicate.getResponse().join()).isSameAs(CREATED);
+    }
+
+    @Test
+    void releasedScopesCanBeClaimedAgain() {
+        store.claim("a", "f");
+        IdempotencyStore.Entry waiting = store.claim("a", "f");
+
+        store.release("a");
+
+        assertThat(waiting.getResponse().join()).isNull();
+        assertThat(store.claim("a", "f")).isNull();
+    }
+
+    @Test
+    void entriesExpireAfterTtlAndTheOldestIsEvictedBeyondTheBound() {
+        store.claim("a", "f");
+        store.complete("a", CREATED);
+        clock.advance(Duration.ofMinutes(11));
+        assertThat(store.claim("a", "f")).isNull();
+
+        store.claim("b", "f");
+        store.claim("c", "f");
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(List.of(store.claim("b", "f") != null, store.claim("c", "f") != null)).containsOnly(true);
+        assertThat(store.claim("a", "f")).isNull();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2030-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
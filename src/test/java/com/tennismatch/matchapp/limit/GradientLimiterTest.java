@@ -0,0 +1,140 @@
+package com.tennismatch.matchapp.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradientLimiterTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    void limitGrowsWhileSaturatedAtSteadyLatency() {
+        GradientLimiter limiter = new GradientLimiter(10, 2, 100, 2.0, 0.2, 0.9);
+
+        for (int i = 0; i < 50; i++) {
+            saturateAndRelease(limiter, 10 * MILLIS);
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+    }
+
+    @Test
+    void limitShrinksWhenLatencyClimbsAndNeverBelowMinimum() {
+        GradientLimiter limiter = new GradientLimiter(50, 5, 100, 2.0, 0.2, 0.9);
+        for (int i = 0; i < 100; i++) {
+            saturateAndRelease(limiter, 10 * MILLIS);
+        }
+        int settled = limiter.getLimit();
+
+        for (int i = 0; i < 20; i++) {
+            saturateAndRelease(limiter, 200 * MILLIS);
+        }
+
+        assertThat(limiter.getLimit()).isLessThan(settled).isGreaterThanOrEqualTo(5);
+    }
+
+    @Test
+    void idleSamplesDoNotGrowTheLimit() {
+        GradientLimiter limiter = new GradientLimiter(10, 2, 100, 2.0, 0.2, 0.9);
+
+        for (int i = 0; i < 100; i++) {
+            int inFlight = limiter.tryAcquire();
+            limiter.release(10 * MILLIS, inFlight, false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void requestsOverTheLimitAreRejectedAndFailuresBackOff() {
+        GradientLimiter limiter = new GradientLimiter(4, 2, 100, 2.0, 0.2, 0.5);
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire()).isEqualTo(i + 1);
+        }
+
+        assertThat(limiter.tryAcquire()).isNegative();
+
+        limiter.release(10 * MILLIS, 4, true);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+        assertThat(limiter.getInFlight()).isEqualTo(3);
+    }
+
+    @Test
+    void filterShedsWithRetryAfterAndLetsUnlimitedPathsThrough() throws Exception {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties(true, Duration.ofSeconds(2), 2.0, 0.2, 0.9,
+                Map.of(EndpointGroup.AUTH, new ConcurrencyLimitProperties.Group(4, 4, 4)));
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties, new SimpleMeterRegistry());
+        GradientLimiter auth = filter.limiter(EndpointGroup.AUTH);
+        for (int i = 0; i < 4; i++) {
+            auth.tryAcquire();
+        }
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/auth/register"), rejected, new MockFilterChain());
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("2");
+
+        MockHttpServletResponse health = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), health, new MockFilterChain());
+        assertThat(health.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void filterReturnsPermitsOfUnsampledRequestsWithoutTouchingTheLimit() throws Exception {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties(true, Duration.ofSeconds(2), 2.0, 0.2, 0.5,
+                Map.of(EndpointGroup.AUTH, new ConcurrencyLimitProperties.Group(4, 2, 8)));
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties, new SimpleMeterRegistry());
+        MockFilterChain waitedAndFailed = new MockFilterChain(new HttpServlet() { }, (request, response, chain) -> {
+            request.setAttribute(ConcurrencyLimitFilter.UNSAMPLED_ATTRIBUTE, Boolean.TRUE);
+            ((HttpServletResponse) response).setStatus(503);
+        });
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/auth/register"), new MockHttpServletResponse(), waitedAndFailed);
+
+        GradientLimiter auth = filter.limiter(EndpointGroup.AUTH);
+        assertThat(auth.getLimit()).isEqualTo(4);
+        assertThat(auth.getInFlight()).isZero();
+    }
+
+    @Test
+    void resetForgetsWhatColdRequestsTaught() {
+        GradientLimiter limiter = new GradientLimiter(20, 2, 100, 2.0, 0.2, 0.9);
+        for (int i = 0; i < 20; i++) {
+            saturateAndRelease(limiter, 10 * MILLIS);
+        }
+        for (int i = 0; i < 20; i++) {
+            saturateAndRelease(limiter, 500 * MILLIS);
+        }
+        assertThat(limiter.getLimit()).isLessThan(20);
+
+        limiter.reset();
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+        // A fresh average: steady latency grows the limit instead of looking like recovery from the slow samples
+        for (int i = 0; i < 20; i++) {
+            saturateAndRelease(limiter, 100 * MILLIS);
+        }
+        assertThat(limiter.getLimit()).isGreaterThan(20);
+    }
+
+    private static void saturateAndRelease(GradientLimiter limiter, long rtt) {
+        int limit = limiter.getLimit();
+        int[] inFlight = new int[limit];
+        for (int i = 0; i < limit; i++) {
+            inFlight[i] = limiter.tryAcquire();
+        }
+        for (int i = 0; i < limit; i++) {
+            limiter.release(rtt, inFlight[i], false);
+        }
+    }
+}
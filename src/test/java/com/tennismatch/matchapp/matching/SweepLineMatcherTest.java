@@ -0,0 +1,117 @@
+package com.tennismatch.matchapp.matching;
+
+import com.tennismatch.matchapp.model.NtrpLevel;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+
+class SweepLineMatcherTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2030, 1, 7, 0, 0);
+
+    private final SweepLineMatcher matcher = new SweepLineMatcher(1, Duration.ofHours(1));
+
+    @Test
+    void overlappingWindowsOfCompatiblePlayers_ArePairedOnTheirOverlap() {
+        AvailabilitySlot early = slot(1, 10, "Springfield", NtrpLevel.INTERMEDIATE_3_5, 9, 12);
+        AvailabilitySlot late = slot(2, 20, "Springfield", NtrpLevel.ADVANCED_4_0, 10, 14);
+
+        List<SuggestedPairing> pairings = matcher.match(List.of(late, early));
+
+        assertThat(pairings).hasSize(1);
+        SuggestedPairing pairing = pairings.get(0);
+        assertThat(pairing.first()).isEqualTo(early);
+        assertThat(pairing.second()).isEqualTo(late);
+        assertThat(pairing.start()).isEqualTo(MONDAY.withHour(10));
+        assertThat(pairing.end()).isEqualTo(MONDAY.withHour(12));
+    }
+
+    @Test
+    void windowsAreNotPairedAcrossTownsLevelsOrTooShortOverlaps() {
+        List<SuggestedPairing> pairings = matcher.match(List.of(
+                slot(1, 10, "Springfield", NtrpLevel.INTERMEDIATE_3_0, 9, 12),
+                slot(2, 20, "Shelbyville", NtrpLevel.INTERMEDIATE_3_0, 9, 12),
+                slot(3, 30, "Springfield", NtrpLevel.ADVANCED_4_0, 9, 12),
+                slot(4, 40, "Capital City", NtrpLevel.INTERMEDIATE_3_0, 9, 11),
+                new AvailabilitySlot(5L, 50L, "Capital City", NtrpLevel.INTERMEDIATE_3_0,
+                        MONDAY.withHour(10).withMinute(30), MONDAY.withHour(13))));
+
+        assertThat(pairings).isEmpty();
+    }
+
+    @Test
+    void townsDifferingOnlyInCaseOrSurroundingSpaces_AreOneTown() {
+        List<SuggestedPairing> pairings = matcher.match(List.of(
+                slot(1, 10, "Krakow", NtrpLevel.INTERMEDIATE_3_0, 9, 12),
+                slot(2, 20, "krakow ", NtrpLevel.INTERMEDIATE_3_0, 10, 13)));
+
+        assertThat(pairings).hasSize(1);
+        assertThat(pairings.get(0).first().windowId()).isEqualTo(1);
+        assertThat(pairings.get(0).second().windowId()).isEqualTo(2);
+    }
+
+    @Test
+    void windowsOfTheSamePlayer_AreNeverPaired() {
+        List<SuggestedPairing> pairings = matcher.match(List.of(
+                slot(1, 10, "Springfield", NtrpLevel.INTERMEDIATE_3_0, 9, 12),
+                slot(2, 10, "Springfield", NtrpLevel.INTERMEDIATE_3_0, 10, 13),
+                slot(3, 20, "Springfield", NtrpLevel.INTERMEDIATE_3_0, 11, 14)));
+
+        assertThat(pairings).hasSize(1);
+        assertThat(pairings.get(0).first().windowId()).isEqualTo(2);
+        assertThat(pairings.get(0).second().windowId()).isEqualTo(3);
+    }
+
+    @Test
+    void closerLevelIsPreferredOverLongerOverlap() {
+        SweepLineMatcher wideMatcher = new SweepLineMatcher(2, Duration.ofHours(1));
+
+        List<SuggestedPairing> pairings = wideMatcher.match(List.of(
+                slot(1, 10, "Springfield", NtrpLevel.INTERMEDIATE_3_0, 8, 12),
+                slot(2, 20, "Springfield", NtrpLevel.ADVANCED_4_5, 8, 14),
+                slot(3, 30, "Springfield", NtrpLevel.INTERMEDIATE_3_5, 9, 13)));
+
+        assertThat(pairings).hasSize(1);
+        assertThat(pairings.get(0).first().windowId()).isEqualTo(1);
+        assertThat(pairings.get(0).second().windowId()).isEqualTo(3);
+    }
+
+    @Test
+    void everyWindowIsUsedAtMostOnce_AndEveryPairingIsValid_AtScale() {
+        Random random = new Random(42);
+        NtrpLevel[] levels = NtrpLevel.values();
+        List<AvailabilitySlot> slots = new ArrayList<>();
+        for (long id = 1; id <= 300_000; id++) {
+            int startHour = random.nextInt(7 * 24 - 4);
+            slots.add(slot(id, random.nextInt(60_000), "Town-" + random.nextInt(20),
+                    levels[random.nextInt(levels.length)], startHour, startHour + 1 + random.nextInt(4)));
+        }
+
+        // Takes seconds; the bound is loose so slow machines pass and only a gross slowdown fails
+        List<SuggestedPairing> pairings = assertTimeout(Duration.ofSeconds(60), () -> matcher.match(slots));
+
+        assertThat(pairings).hasSizeGreaterThan(100_000);
+        Set<Long> used = new HashSet<>();
+        for (SuggestedPairing pairing : pairings) {
+            assertThat(used.add(pairing.first().windowId())).isTrue();
+            assertThat(used.add(pairing.second().windowId())).isTrue();
+            assertThat(pairing.first().town()).isEqualTo(pairing.second().town());
+            assertThat(pairing.first().userId()).isNotEqualTo(pairing.second().userId());
+            assertThat(Math.abs(pairing.first().level().ordinal() - pairing.second().level().ordinal())).isLessThanOrEqualTo(1);
+            assertThat(Duration.between(pairing.start(), pairing.end())).isGreaterThanOrEqualTo(Duration.ofHours(1));
+        }
+    }
+
+    private static AvailabilitySlot slot(long windowId, long userId, String town, NtrpLevel level, int fromHour, int toHour) {
+        return new AvailabilitySlot(windowId, userId, town, level, MONDAY.plusHours(fromHour), MONDAY.plusHours(toHour));
+    }
+}
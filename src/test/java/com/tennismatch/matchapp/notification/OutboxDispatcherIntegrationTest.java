@@ -0,0 +1,141 @@
+package com.tennismatch.matchapp.notification;
+
+import com.tennismatch.matchapp.dto.CreateProposalRequest;
+import com.tennismatch.matchapp.dto.RegisterRequest;
+import com.tennismatch.matchapp.model.NotificationType;
+import com.tennismatch.matchapp.model.OutboxMessage;
+import com.tennismatch.matchapp.model.OutboxStatus;
+import com.tennismatch.matchapp.model.NtrpLevel;
+import com.tennismatch.matchapp.model.PlayProposal;
+import com.tennismatch.matchapp.repository.MatchRepository;
+import com.tennismatch.matchapp.repository.OutboxMessageRepository;
+import com.tennismatch.matchapp.repository.PlayProposalRepository;
+import com.tennismatch.matchapp.repository.UserRepository;
+import com.tennismatch.matchapp.service.PlayProposalService;
+import com.tennismatch.matchapp.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// Scheduled polling is off and the database is private, so that no other context's dispatcher
+// or leftover messages interfere with the batches this test drives
+@SpringBootTest(properties = {
+        "app.outbox.dispatch-enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:outbox-test"
+})
+class OutboxDispatcherIntegrationTest {
+
+    @MockitoBean
+    private NotificationSender notificationSender;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PlayProposalService playProposalService;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private PlayProposalRepository playProposalRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        outboxMessageRepository.deleteAll();
+        matchRepository.deleteAll();
+        playProposalRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void writesOutboxMessagesWithRegistrationAndAcceptance() {
+        registerAndMatch();
+
+        assertThat(outboxMessageRepository.findAll())
+                .extracting(OutboxMessage::getType)
+                .containsExactlyInAnyOrder(NotificationType.WELCOME, NotificationType.WELCOME,
+                        NotificationType.PROPOSAL_ACCEPTED, NotificationType.MATCH_CONFIRMED);
+    }
+
+    @Test
+    void dispatchPending_CoalescesMessagesPerRecipient() throws Exception {
+        registerAndMatch();
+
+        int processed = outboxDispatcher.dispatchPending();
+
+        assertThat(processed).isEqualTo(4);
+        ArgumentCaptor<Notification> captor = ArgumentCaptor.forClass(Notification.class);
+        verify(notificationSender, times(2)).send(captor.capture());
+        assertThat(captor.getAllValues())
+                .extracting(Notification::recipient)
+                .containsExactlyInAnyOrder("proposer@example.com", "requester@example.com");
+        assertThat(captor.getAllValues())
+                .allSatisfy(notification -> assertThat(notification.subject()).contains("2 new updates"));
+        assertThat(outboxMessageRepository.findAll())
+                .allSatisfy(message -> {
+                    assertThat(message.getStatus()).isEqualTo(OutboxStatus.SENT);
+                    assertThat(message.getAttempts()).isEqualTo(1);
+                });
+    }
+
+    @Test
+    void dispatchPending_SchedulesRetryWithBackoffWhenSenderFails() throws Exception {
+        userService.registerUser(registration("proposer@example.com"));
+        doThrow(new IllegalStateException("SMTP unavailable")).when(notificationSender).send(any(Notification.class));
+
+        outboxDispatcher.dispatchPending();
+
+        List<OutboxMessage> messages = outboxMessageRepository.findAll();
+        assertThat(messages).hasSize(1);
+        OutboxMessage message = messages.get(0);
+        assertThat(message.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(message.getAttempts()).isEqualTo(1);
+        assertThat(message.getLastError()).contains("SMTP unavailable");
+        assertThat(message.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        // Not due yet, so a second poll leaves it alone
+        assertThat(outboxDispatcher.dispatchPending()).isZero();
+    }
+
+    private void registerAndMatch() {
+        userService.registerUser(registration("proposer@example.com"));
+        userService.registerUser(registration("requester@example.com"));
+        PlayProposal proposal = playProposalService.createProposal("proposer@example.com", CreateProposalRequest.builder()
+                .proposedStartTime(LocalDateTime.now().plusDays(1))
+                .locationDetails("Park Jordana, court 1")
+                .build());
+        playProposalService.acceptProposal(proposal.getId(), "requester@example.com");
+    }
+
+    private RegisterRequest registration(String email) {
+        return RegisterRequest.builder()
+                .email(email)
+                .password("password123Valid")
+                .firstName("Test")
+                .lastName("User")
+                .ntrpLevel(NtrpLevel.INTERMEDIATE_3_0)
+                .homeTown("Krakow")
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.tennismatch.matchapp.querystats;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc expectations on the database work of a request, so that a new N+1 pattern fails the build.
+ */
+public final class QueryCountMatchers {
+
+    private QueryCountMatchers() {
+    }
+
+    public static ResultMatcher maxQueries(int max) {
+        return result -> assertThat(stats(result.getRequest().getAttribute(RequestQueryStats.ATTRIBUTE)).getStatements())
+                .as("SQL statements run by %s", result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(max);
+    }
+
+    private static RequestQueryStats stats(Object attribute) {
+        assertThat(attribute).as("query stats of the request, is app.query-stats.enabled set?")
+                .isInstanceOf(RequestQueryStats.class);
+        return (RequestQueryStats) attribute;
+    }
+}
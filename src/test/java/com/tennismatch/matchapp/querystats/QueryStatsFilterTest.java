@@ -0,0 +1,61 @@
+package com.tennismatch.matchapp.querystats;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryStatsFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QueryStatsFilter filter =
+            new QueryStatsFilter(new QueryStatsProperties(true, 3, 20, Duration.ofSeconds(1)), meterRegistry);
+    private final QueryCountingInspector inspector = new QueryCountingInspector();
+
+    @Test
+    void countsStatementsOfTheRequestAndDetectsRepeatedOnes() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/matches/mine");
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/matches/mine");
+                inspector.inspect("select * from matches where user_id=?");
+                for (int i = 0; i < 4; i++) {
+                    inspector.inspect("select * from user_roles where user_id=?");
+                }
+            }
+        }));
+
+        RequestQueryStats stats = (RequestQueryStats) request.getAttribute(RequestQueryStats.ATTRIBUTE);
+        assertThat(stats.getStatements()).isEqualTo(5);
+        assertThat(stats.mostRepeated(3)).hasValueSatisfying(entry -> {
+            assertThat(entry.getKey()).contains("user_roles");
+            assertThat(entry.getValue()).isEqualTo(4);
+        });
+        assertThat(stats.mostRepeated(5)).isEmpty();
+        assertThat(meterRegistry.get("http.server.requests.queries")
+                .tag("method", "GET").tag("uri", "/api/matches/mine")
+                .summary().totalAmount()).isEqualTo(5.0);
+    }
+
+    @Test
+    void ignoresStatementsOutsideRequests() throws Exception {
+        inspector.inspect("select 1");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/calendar");
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        inspector.inspect("select 1");
+
+        assertThat(((RequestQueryStats) request.getAttribute(RequestQueryStats.ATTRIBUTE)).getStatements()).isZero();
+    }
+}
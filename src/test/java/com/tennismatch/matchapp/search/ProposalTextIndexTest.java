@@ -0,0 +1,104 @@
+package com.tennismatch.matchapp.search;
+
+import com.tennismatch.matchapp.model.NtrpLevel;
+import com.tennismatch.matchapp.model.ProposalStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProposalTextIndexTest {
+
+    private final ProposalTextIndex index = new ProposalTextIndex();
+
+    @Test
+    void terms_AreFoldedStemmedAndStripped() {
+        assertThat(TextNormalizer.terms("Korty w Parku \u0141azienkowskim, CT 3"))
+                .containsExactly("court", "park", "lazienkowskim", "court", "3");
+        assertThat(TextNormalizer.terms("The Tennis Courts at Crystal Palace"))
+                .containsExactly("tennis", "court", "crystal", "palace");
+    }
+
+    @Test
+    void search_MatchesWordsPrefixesAndAccentInsensitively() {
+        index.upsert(proposal(1, "Krak\u00f3w", NtrpLevel.INTERMEDIATE_3_5, "Park Jordana, court 3", "Friendly hit"));
+        index.upsert(proposal(2, "Krak\u00f3w", NtrpLevel.INTERMEDIATE_3_5, "Korty Nadwi\u015blan", "Looking for doubles"));
+
+        assertThat(index.search("jord", "Krak\u00f3w", null, 10)).containsExactly(1L);
+        assertThat(index.search("KORTY", " krak\u00f3w", null, 10)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("nadwislan doubles", "KRAK\u00d3W", null, 10)).containsExactly(2L);
+        assertThat(index.search("jordana doubles", "Krak\u00f3w", null, 10)).isEmpty();
+        assertThat(index.search("jordana", "Warszawa", null, 10)).isEmpty();
+        assertThat(index.search("jordana", "Krak\u00f3w", NtrpLevel.ADVANCED_4_0, 10)).isEmpty();
+        // Towns are matched like the database query does, so accents in the town still count
+        assertThat(index.search("jordana", "Krakow", null, 10)).isEmpty();
+    }
+
+    @Test
+    void search_RanksLocationAboveNotesAndWholeWordsAbovePrefixes() {
+        index.upsert(proposal(1, "Krakow", NtrpLevel.ADVANCED_4_0, "Clay courts", "Near the park"));
+        index.upsert(proposal(2, "Krakow", NtrpLevel.ADVANCED_4_0, "Park Decjusza", null));
+        index.upsert(proposal(3, "Krakow", NtrpLevel.ADVANCED_4_0, "Parkowa street", null));
+
+        assertThat(index.search("park", "Krakow", null, 10)).containsExactly(2L, 1L, 3L);
+        assertThat(index.search("park", "Krakow", null, 1)).containsExactly(2L);
+    }
+
+    @Test
+    void upsert_ReplacesTextAndClosedProposalsAreRemoved() {
+        index.upsert(proposal(1, "Krakow", NtrpLevel.BEGINNER_2_5, "Park Jordana", null));
+        index.upsert(proposal(1, "Krakow", NtrpLevel.BEGINNER_2_5, "B\u0142onia", "Bring balls"));
+
+        assertThat(index.search("jordana", "Krakow", null, 10)).isEmpty();
+        assertThat(index.search("blonia ball", "Krakow", null, 10)).containsExactly(1L);
+
+        index.upsert(new IndexedProposal(1L, "Krakow", NtrpLevel.BEGINNER_2_5, ProposalStatus.CANCELLED,
+                null, "B\u0142onia", "Bring balls"));
+
+        assertThat(index.search("blonia", "Krakow", null, 10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void upsert_IgnoresVersionsOlderThanTheLastOneApplied() {
+        LocalDateTime created = LocalDateTime.of(2030, 1, 7, 9, 0);
+        index.upsert(versioned(1, ProposalStatus.OPEN, created));
+        index.upsert(versioned(1, ProposalStatus.CANCELLED, created.plusMinutes(5)));
+
+        // A sync reading a replica that has not seen the cancellation yet
+        index.upsert(versioned(1, ProposalStatus.OPEN, created));
+        assertThat(index.search("jordana", "Krakow", null, 10)).isEmpty();
+
+        index.forgetRemovedBefore(created.plusMinutes(1));
+        index.upsert(versioned(1, ProposalStatus.OPEN, created));
+        assertThat(index.search("jordana", "Krakow", null, 10)).isEmpty();
+
+        index.upsert(versioned(1, ProposalStatus.OPEN, created.plusMinutes(10)));
+        assertThat(index.search("jordana", "Krakow", null, 10)).containsExactly(1L);
+    }
+
+    @Test
+    void compaction_KeepsLiveDocumentsSearchable() {
+        for (long id = 1; id <= 5000; id++) {
+            index.upsert(proposal(id, "Krakow", NtrpLevel.ADVANCED_4_5, "Court " + id, id % 2 == 0 ? "even" : "odd"));
+        }
+        for (long id = 1; id <= 4000; id++) {
+            index.remove(id);
+        }
+
+        assertThat(index.size()).isEqualTo(1000);
+        assertThat(index.search("even", "Krakow", null, 5000)).hasSize(500).allMatch(id -> id > 4000 && id % 2 == 0);
+        assertThat(index.search("3711", "Krakow", null, 10)).isEmpty();
+        assertThat(index.search("4712", "Krakow", null, 10)).containsExactly(4712L);
+        assertThat(index.estimatedBytes() / index.size()).isPositive();
+    }
+
+    private static IndexedProposal versioned(long id, ProposalStatus status, LocalDateTime updatedAt) {
+        return new IndexedProposal(id, "Krakow", NtrpLevel.INTERMEDIATE_3_5, status, updatedAt, "Park Jordana", null);
+    }
+
+    private static IndexedProposal proposal(long id, String town, NtrpLevel level, String location, String notes) {
+        return new IndexedProposal(id, town, level, ProposalStatus.OPEN, null, location, notes);
+    }
+}
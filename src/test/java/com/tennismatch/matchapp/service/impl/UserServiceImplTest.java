@@ -1,10 +1,12 @@
 package com.tennismatch.matchapp.service.impl;
 
 import com.tennismatch.matchapp.dto.RegisterRequest;
+import com.tennismatch.matchapp.event.UserChangedEvent;
 import com.tennismatch.matchapp.model.NtrpLevel;
 import com.tennismatch.matchapp.model.Role;
 import com.tennismatch.matchapp.model.Sex;
 import com.tennismatch.matchapp.model.User;
+import com.tennismatch.matchapp.notification.NotificationOutbox;
 import com.tennismatch.matchapp.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,6 +15,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
@@ -33,6 +36,12 @@ class UserServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private NotificationOutbox notificationOutbox;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -98,6 +107,8 @@ class UserServiceImplTest {
         assertEquals(registerRequest.getEmail(), savedUser.getEmail());
         assertEquals(registerRequest.getAge(), savedUser.getAge());
         assertEquals(registerRequest.getSex(), savedUser.getSex());
+        verify(notificationOutbox, times(1)).welcome(result);
+        verify(eventPublisher, times(1)).publishEvent(new UserChangedEvent(result.getId()));
     }
 
     @Test
@@ -111,6 +122,8 @@ class UserServiceImplTest {
         verify(userRepository, times(1)).existsByEmail(registerRequest.getEmail());
         verify(passwordEncoder, times(0)).encode(anyString());
         verify(userRepository, times(0)).save(any(User.class));
+        verify(notificationOutbox, times(0)).welcome(any(User.class));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -0,0 +1,77 @@
+package com.tennismatch.matchapp.sharding;
+
+import com.tennismatch.matchapp.model.ShardAssignment;
+import com.tennismatch.matchapp.repository.ShardAssignmentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ShardDirectoryTest {
+
+    @Mock
+    private ShardAssignmentRepository assignmentRepository;
+
+    @Test
+    void withoutShards_EverythingIsOnThePrimary() {
+        ShardDirectory directory = new ShardDirectory(List.of(), Map.of(), assignmentRepository);
+
+        assertThat(directory.isSharded()).isFalse();
+        assertThat(directory.assign("Springfield")).isEqualTo(ShardDirectory.PRIMARY);
+        assertThat(directory.shardOfId(42)).isEqualTo(ShardDirectory.PRIMARY);
+        verifyNoInteractions(assignmentRepository);
+    }
+
+    @Test
+    void assign_RecordsConfiguredPlacementOnce_IgnoringCaseAndWhitespace() {
+        ShardDirectory directory = new ShardDirectory(List.of("shard-1", "shard-2"),
+                Map.of("Springfield", "shard-2"), assignmentRepository);
+        when(assignmentRepository.findById("springfield")).thenReturn(Optional.empty());
+
+        assertThat(directory.shardFor("Springfield")).isEqualTo("shard-2");
+        assertThat(directory.assign("Springfield")).isEqualTo("shard-2");
+        assertThat(directory.assign(" springfield ")).isEqualTo("shard-2");
+
+        verify(assignmentRepository, times(1)).save(any(ShardAssignment.class));
+    }
+
+    @Test
+    void assign_KeepsAssignmentRecordedByAnotherInstance() {
+        ShardDirectory directory = new ShardDirectory(List.of("shard-1", "shard-2"),
+                Map.of("Springfield", "shard-2"), assignmentRepository);
+        when(assignmentRepository.findById("springfield"))
+                .thenReturn(Optional.of(new ShardAssignment("springfield", "shard-1", null)));
+
+        assertThat(directory.assign("Springfield")).isEqualTo("shard-1");
+        assertThat(directory.shardFor("Springfield")).isEqualTo("shard-1");
+    }
+
+    @Test
+    void shardOfId_FollowsTheIdRanges() {
+        ShardDirectory directory = new ShardDirectory(List.of("shard-1", "shard-2"), Map.of(), assignmentRepository);
+
+        assertThat(directory.shardOfId(1)).isEqualTo(ShardDirectory.PRIMARY);
+        assertThat(directory.shardOfId(ShardDirectory.ID_RANGE)).isEqualTo(ShardDirectory.PRIMARY);
+        assertThat(directory.shardOfId(ShardDirectory.ID_RANGE + 1)).isEqualTo("shard-1");
+        assertThat(directory.shardOfId(2 * ShardDirectory.ID_RANGE + 7)).isEqualTo("shard-2");
+    }
+
+    @Test
+    void unknownShardsAreRejected() {
+        assertThatThrownBy(() -> new ShardDirectory(List.of("shard-1"), Map.of("Springfield", "shard-9"), assignmentRepository))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,172 @@
+package com.tennismatch.matchapp.sharding;
+
+import com.tennismatch.matchapp.dto.CreateProposalRequest;
+import com.tennismatch.matchapp.dto.RegisterRequest;
+import com.tennismatch.matchapp.model.NtrpLevel;
+import com.tennismatch.matchapp.model.PlayProposal;
+import com.tennismatch.matchapp.service.PlayProposalService;
+import com.tennismatch.matchapp.service.UserService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Three private H2 databases: the primary and two shards, with the test towns pinned to shards
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sharding-primary;DB_CLOSE_DELAY=-1",
+        "app.sharding.enabled=true",
+        "app.sharding.shards[0].name=shard-1",
+        "app.sharding.shards[0].url=jdbc:h2:mem:sharding-shard1;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[1].name=shard-2",
+        "app.sharding.shards[1].url=jdbc:h2:mem:sharding-shard2;DB_CLOSE_DELAY=-1",
+        "app.sharding.towns.Springfield=shard-1",
+        "app.sharding.towns.Shelbyville=shard-2",
+        "app.sharding.towns.Ogdenville=shard-1",
+        "app.outbox.dispatch-enabled=false",
+        "app.matching.enabled=false"
+})
+@AutoConfigureMockMvc
+class ShardingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PlayProposalService playProposalService;
+
+    @Autowired
+    private ShardRebalancer shardRebalancer;
+
+    @Autowired
+    private ShardPools shardPools;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @AfterEach
+    void tearDown() {
+        for (DataSource database : List.of(primaryDataSource, pool("shard-1"), pool("shard-2"))) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+            jdbcTemplate.update("DELETE FROM notification_outbox");
+            jdbcTemplate.update("DELETE FROM matches");
+            jdbcTemplate.update("DELETE FROM availability_windows");
+            jdbcTemplate.update("DELETE FROM play_proposals");
+            jdbcTemplate.update("DELETE FROM user_roles");
+            jdbcTemplate.update("DELETE FROM users");
+        }
+    }
+
+    @Test
+    void proposalsAreStoredOnTheShardOfTheirTown() throws Exception {
+        userService.registerUser(registration("homer@example.com", "Springfield"));
+        userService.registerUser(registration("bob@example.com", "Shelbyville"));
+
+        PlayProposal springfield = playProposalService.createProposal("homer@example.com", proposalRequest());
+        PlayProposal shelbyville = playProposalService.createProposal("bob@example.com", proposalRequest());
+
+        assertThat(count(pool("shard-1"), "play_proposals")).isEqualTo(1);
+        assertThat(count(pool("shard-2"), "play_proposals")).isEqualTo(1);
+        assertThat(count(primaryDataSource, "play_proposals")).isZero();
+        assertThat(springfield.getId()).isGreaterThan(ShardDirectory.ID_RANGE);
+        assertThat(shelbyville.getId()).isGreaterThan(2 * ShardDirectory.ID_RANGE);
+
+        mockMvc.perform(get("/api/match-proposals/{id}", shelbyville.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.homeTown").value("Shelbyville"));
+        mockMvc.perform(get("/api/match-proposals/search").param("town", "Springfield"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(springfield.getId()));
+    }
+
+    @Test
+    void myMatchesAreGatheredFromAllShards() throws Exception {
+        userService.registerUser(registration("marge@example.com", "Springfield"));
+        userService.registerUser(registration("cletus@example.com", "Shelbyville"));
+        PlayProposal atHome = playProposalService.createProposal("marge@example.com", proposalRequest());
+        PlayProposal away = playProposalService.createProposal("cletus@example.com", proposalRequest());
+
+        playProposalService.acceptProposal(atHome.getId(), "cletus@example.com");
+        playProposalService.acceptProposal(away.getId(), "marge@example.com");
+
+        assertThat(count(pool("shard-1"), "matches")).isEqualTo(1);
+        assertThat(count(pool("shard-2"), "matches")).isEqualTo(1);
+        mockMvc.perform(get("/api/matches/mine").with(user("marge@example.com")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void movedTownIsServedFromItsNewShard() throws Exception {
+        userService.registerUser(registration("ned@example.com", "Ogdenville"));
+        userService.registerUser(registration("rod@example.com", "Ogdenville"));
+        PlayProposal accepted = playProposalService.createProposal("ned@example.com", proposalRequest());
+        PlayProposal open = playProposalService.createProposal("ned@example.com", proposalRequest());
+        playProposalService.acceptProposal(accepted.getId(), "rod@example.com");
+
+        ShardRebalancer.MoveResult result = shardRebalancer.moveTown("Ogdenville", "shard-2");
+
+        assertThat(result.from()).isEqualTo("shard-1");
+        assertThat(result.proposals()).isEqualTo(2);
+        assertThat(result.matches()).isEqualTo(1);
+        assertThat(count(pool("shard-1"), "play_proposals")).isZero();
+        assertThat(count(pool("shard-2"), "play_proposals")).isEqualTo(2);
+
+        mockMvc.perform(get("/api/match-proposals/{id}", open.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/match-proposals/search").param("town", "Ogdenville"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+        // Writes follow the town, and new rows get ids from the new shard's range
+        playProposalService.cancelProposal(open.getId(), "ned@example.com");
+        PlayProposal created = playProposalService.createProposal("rod@example.com", proposalRequest());
+        assertThat(created.getId()).isGreaterThan(2 * ShardDirectory.ID_RANGE);
+        assertThat(count(pool("shard-2"), "play_proposals")).isEqualTo(3);
+
+        shardRebalancer.moveTown("Ogdenville", "shard-1");
+    }
+
+    private long count(DataSource database, String table) {
+        return new JdbcTemplate(database).queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private DataSource pool(String shard) {
+        return shardPools.getPools().get(shard);
+    }
+
+    private RegisterRequest registration(String email, String town) {
+        return RegisterRequest.builder()
+                .email(email)
+                .password("password123Valid")
+                .firstName("Test")
+                .lastName("User")
+                .ntrpLevel(NtrpLevel.INTERMEDIATE_3_5)
+                .homeTown(town)
+                .build();
+    }
+
+    private CreateProposalRequest proposalRequest() {
+        return CreateProposalRequest.builder()
+                .proposedStartTime(LocalDateTime.now().plusDays(2))
+                .proposedEndTime(LocalDateTime.now().plusDays(2).plusHours(1))
+                .locationDetails("Municipal courts")
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.tennismatch.matchapp.startup;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FirstMinuteLatencyFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FirstMinuteLatencyFilter filter = new FirstMinuteLatencyFilter(meterRegistry);
+
+    @Test
+    void timesOnlyRequestsWhileTheWindowIsOpen() throws Exception {
+        request();
+        filter.open();
+        request();
+        request();
+        filter.close();
+        request();
+
+        Timer timer = meterRegistry.get("http.server.requests.first.minute").timer();
+        assertThat(timer.count()).isEqualTo(2);
+    }
+
+    @Test
+    void keepsTheP99OfTheWindowAfterClosing() throws Exception {
+        assertThat(meterRegistry.get("startup.first.minute.p99").gauge().value()).isNaN();
+
+        filter.open();
+        request();
+        filter.close();
+
+        assertThat(filter.getP99()).isNotNaN().isGreaterThanOrEqualTo(0);
+        assertThat(meterRegistry.get("startup.first.minute.p99").gauge().value()).isEqualTo(filter.getP99());
+    }
+
+    private void request() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/match-proposals/search"),
+                new MockHttpServletResponse(), new MockFilterChain());
+    }
+}
@@ -0,0 +1,47 @@
+package com.tennismatch.matchapp.startup;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A running server, so the warm-up actually sends its requests; a registration in every round
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:warmup-test",
+        "app.warmup.iterations=3",
+        "app.warmup.registration-every=1",
+        "app.archive.enabled=false",
+        "app.outbox.dispatch-enabled=false",
+        "app.matching.enabled=false"
+})
+class WarmupRunnerIntegrationTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Test
+    void warmsUpBeforeReadinessWithoutLeavingDataBehind() {
+        assertThat(meterRegistry.get("warmup.duration").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("warmup.rounds").counter().count()).isEqualTo(3.0);
+        // One request per round on each path, whatever the status it was answered with
+        for (String uri : new String[] {"/api/match-proposals/search", "/api/users/{id}", "/api/auth/register"}) {
+            long requests = meterRegistry.get("http.server.requests").tag("uri", uri).timers().stream()
+                    .mapToLong(Timer::count)
+                    .sum();
+            assertThat(requests).as(uri).isEqualTo(3);
+        }
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(primaryDataSource);
+        for (String table : new String[] {"users", "user_roles", "notification_outbox", "play_proposals"}) {
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class)).as(table).isZero();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.tennismatch.matchapp.stats;
+
+import com.tennismatch.matchapp.model.NtrpLevel;
+import com.tennismatch.matchapp.model.ProposalStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SupplyDemandStatsTest {
+
+    private static final NtrpLevel LEVEL = NtrpLevel.INTERMEDIATE_3_5;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SupplyDemandStats stats = new SupplyDemandStats(meterRegistry);
+
+    @Test
+    void transitionsMoveProposalsBetweenStatuses() {
+        stats.transition("Springfield", LEVEL, null, ProposalStatus.OPEN);
+        stats.transition("Springfield", LEVEL, null, ProposalStatus.OPEN);
+        stats.transition("Springfield", LEVEL, ProposalStatus.OPEN, ProposalStatus.MATCHED);
+        stats.transition("Springfield", LEVEL, ProposalStatus.OPEN, ProposalStatus.OPEN);
+        stats.transition(" springfield ", LEVEL, null, ProposalStatus.OPEN);
+        stats.transition("SPRINGFIELD", LEVEL, ProposalStatus.OPEN, ProposalStatus.CANCELLED);
+        stats.transition("Shelbyville", LEVEL, null, ProposalStatus.OPEN);
+
+        assertThat(stats.count("Springfield", LEVEL, ProposalStatus.OPEN)).isEqualTo(1);
+        assertThat(stats.count("Springfield", LEVEL, ProposalStatus.MATCHED)).isEqualTo(1);
+        assertThat(stats.count("Springfield", LEVEL, ProposalStatus.CANCELLED)).isZero();
+        assertThat(stats.byTown()).containsOnlyKeys("shelbyville", "springfield");
+        // One series per level and status, whatever the towns
+        assertThat(meterRegistry.get("proposals.current").gauges()).hasSize(NtrpLevel.values().length * 2);
+        assertThat(meterRegistry.get("proposals.current")
+                .tag("level", LEVEL.name()).tag("status", "OPEN")
+                .gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void reconcileCorrectsDriftOfCombinationsUnchangedWhileCounting() {
+        stats.transition("Springfield", LEVEL, null, ProposalStatus.OPEN);
+        stats.transition("Shelbyville", LEVEL, null, ProposalStatus.OPEN);
+
+        int drifted = stats.reconcile(() -> List.of(
+                new ProposalCount("Springfield", LEVEL, ProposalStatus.OPEN, 5),
+                new ProposalCount("Ogdenville", LEVEL, ProposalStatus.MATCHED, 2)));
+
+        assertThat(drifted).isEqualTo(3);
+        assertThat(stats.count("Springfield", LEVEL, ProposalStatus.OPEN)).isEqualTo(5);
+        assertThat(stats.count("Shelbyville", LEVEL, ProposalStatus.OPEN)).isZero();
+        assertThat(stats.count("Ogdenville", LEVEL, ProposalStatus.MATCHED)).isEqualTo(2);
+        assertThat(stats.byTown()).containsOnlyKeys("ogdenville", "shelbyville", "springfield");
+    }
+
+    @Test
+    void reconcileLeavesCombinationsChangedWhileCountingForTheNextPass() {
+        stats.transition("Springfield", LEVEL, null, ProposalStatus.OPEN);
+
+        // Committed while the database was counted, and seen by the query: it must not be added twice
+        int drifted = stats.reconcile(() -> {
+            stats.transition("Springfield", LEVEL, null, ProposalStatus.OPEN);
+            return List.of(new ProposalCount("Springfield", LEVEL, ProposalStatus.OPEN, 2),
+                    new ProposalCount("Shelbyville", LEVEL, ProposalStatus.OPEN, 1));
+        });
+
+        assertThat(drifted).isEqualTo(1);
+        assertThat(stats.count("Springfield", LEVEL, ProposalStatus.OPEN)).isEqualTo(2);
+        assertThat(stats.count("Shelbyville", LEVEL, ProposalStatus.OPEN)).isEqualTo(1);
+
+        assertThat(stats.reconcile(() -> List.of(
+                new ProposalCount("Springfield", LEVEL, ProposalStatus.OPEN, 3),
+                new ProposalCount("Shelbyville", LEVEL, ProposalStatus.OPEN, 1)))).isEqualTo(1);
+        assertThat(stats.count("Springfield", LEVEL, ProposalStatus.OPEN)).isEqualTo(3);
+    }
+
+    @Test
+    void reconcileLeavesCombinationsAloneWhoseCommitIsAppliedOnlyAfterThePass() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            stats.changing("Springfield", LEVEL, null, ProposalStatus.OPEN);
+
+            // Committed and seen by the query, but the after-commit listener has not run yet
+            assertThat(stats.reconcile(() -> List.of(
+                    new ProposalCount("Springfield", LEVEL, ProposalStatus.OPEN, 1)))).isZero();
+            assertThat(stats.count("Springfield", LEVEL, ProposalStatus.OPEN)).isZero();
+
+            stats.transition("Springfield", LEVEL, null, ProposalStatus.OPEN);
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(stats.count("Springfield", LEVEL, ProposalStatus.OPEN)).isEqualTo(1);
+        assertThat(stats.reconcile(() -> List.of(
+                new ProposalCount("Springfield", LEVEL, ProposalStatus.OPEN, 1)))).isZero();
+        assertThat(stats.count("Springfield", LEVEL, ProposalStatus.OPEN)).isEqualTo(1);
+    }
+}